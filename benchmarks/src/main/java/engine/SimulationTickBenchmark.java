@@ -0,0 +1,55 @@
+package engine;
+
+import input.TickInput;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One full Simulation.tick (player input, physics/collision, spawn, integration, despawn)
+// with the cube count held steady at the given size
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationTickBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int cubes;
+
+    private Simulation simulation;
+    private final TickInput input = new TickInput(); // no keys held, no mouse movement
+    private final Random random = new Random(42);
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        simulation = new Simulation(42);
+        refill();
+    }
+
+    @Benchmark
+    public int tick() {
+        simulation.tick(input);
+        if (simulation.isGameOver()) simulation.reset();
+        refill();
+        return simulation.getPoints();
+    }
+
+    // Tops the store back up with cubes entering from the spawn ring, so despawns don't drain it
+    private void refill() {
+        CubeStore store = simulation.getWorld().movingCubes;
+        while (store.size() < cubes) {
+            float dist = 1200f + random.nextFloat() * 400f;
+            float offset = (random.nextFloat() - 0.5f) * 2400f;
+            float speed = 2f + random.nextFloat() * 2f;
+            float y = 340f + random.nextFloat() * 200f;
+            switch (random.nextInt(4)) {
+                case 0: store.add(dist, y, offset, -speed, 0f, 0xFFFF0000); break;
+                case 1: store.add(-dist, y, offset, speed, 0f, 0xFFFF0000); break;
+                case 2: store.add(offset, y, dist, 0f, -speed, 0xFFFF0000); break;
+                default: store.add(offset, y, -dist, 0f, speed, 0xFFFF0000); break;
+            }
+        }
+    }
+}
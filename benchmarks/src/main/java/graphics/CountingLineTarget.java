@@ -0,0 +1,36 @@
+package graphics;
+
+// LineTarget that only counts, so benchmarks measure the pipeline rather than a rasterizer
+public class CountingLineTarget implements LineTarget {
+    private final int width, height;
+    public int lines;
+    public float checksum;
+
+    public CountingLineTarget(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public void reset() {
+        lines = 0;
+        checksum = 0;
+    }
+
+    @Override
+    public int getWidth() { return width; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public void setColor(int argb) {}
+
+    @Override
+    public void setLineWidth(int width) {}
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2) {
+        lines++;
+        checksum += x1 + y1 + x2 + y2;
+    }
+}
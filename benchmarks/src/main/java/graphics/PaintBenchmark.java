@@ -0,0 +1,91 @@
+package graphics;
+
+import engine.CubeStore;
+import objects.Player;
+import objects.RectangularPrismWithWireframe;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Whole frames painted offscreen: the Swing Renderer into a BufferedImage, and the
+// same scene through the software rasterizer. Run with -Djava.awt.headless=true on servers.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PaintBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int cubes;
+
+    private static final int WIDTH = 1280, HEIGHT = 720;
+
+    private Renderer renderer;
+    private Renderer perEdgeRenderer;
+    private Graphics2D graphics;
+    private SceneRenderer scene;
+    private SoftwareRasterizer rasterizer;
+    private CubeStore store;
+    private RectangularPrismWithWireframe platform;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        store = new CubeStore(cubes);
+        for (int i = 0; i < cubes; i++) {
+            store.add((random.nextFloat() - 0.5f) * 3200f, 340f + random.nextFloat() * 200f,
+                (random.nextFloat() - 0.5f) * 3200f, 0f, 0f, Color.RED.getRGB());
+        }
+        platform = new RectangularPrismWithWireframe(0, 300f, 0, 240, 40, 240, 0xFF00FF00);
+        player = new Player(0, 330f, 0);
+
+        renderer = newRenderer();
+        perEdgeRenderer = newRenderer();
+        perEdgeRenderer.setBatchedLines(false);
+        graphics = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+
+        scene = new SceneRenderer();
+        scene.setCamera(0f, 398f, 188f, 180f, 20f);
+        rasterizer = new SoftwareRasterizer(WIDTH, HEIGHT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    private Renderer newRenderer() {
+        Renderer r = new Renderer();
+        r.setSize(WIDTH, HEIGHT);
+        r.setCamera(0f, 398f, 188f, 180f, 20f);
+        r.setPlatform(platform);
+        r.setPlayer(player);
+        r.setCubesToRender(store);
+        return r;
+    }
+
+    // Segments grouped by colour/width, one Path2D draw per group (the default)
+    @Benchmark
+    public void java2dFrame() {
+        renderer.paint(graphics);
+    }
+
+    // One Graphics.drawLine per edge
+    @Benchmark
+    public void java2dPerEdgeFrame() {
+        perEdgeRenderer.paint(graphics);
+    }
+
+    @Benchmark
+    public int softwareFrame() {
+        rasterizer.clear(0xFF000000);
+        scene.render(rasterizer, platform, player, store, 1f);
+        return rasterizer.getPixels()[WIDTH * HEIGHT / 2];
+    }
+}
@@ -0,0 +1,89 @@
+package graphics;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Vertex transform/projection throughput and the clipped line path, without any drawing cost
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+    private static final int POINTS = 1024;
+    private static final WireMesh CUBE = WireMesh.unitBox();
+
+    private final SceneRenderer scene = new SceneRenderer();
+    private final CountingLineTarget target = new CountingLineTarget(1280, 720);
+    private final float[] points = new float[POINTS * 3];
+    private final float[] cam = new float[3];
+    private final float[] screen = new float[2];
+
+    @Setup
+    public void setup() {
+        // Same framing the game uses: orbit camera behind and above the player on the platform
+        scene.setCamera(0f, 398f, 188f, 180f, 20f);
+        Random random = new Random(42);
+        for (int i = 0; i < points.length; i += 3) {
+            points[i] = (random.nextFloat() - 0.5f) * 3200f;
+            points[i + 1] = 300f + random.nextFloat() * 200f;
+            points[i + 2] = (random.nextFloat() - 0.5f) * 3200f;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void projectVertex(Blackhole bh) {
+        for (int i = 0; i < points.length; i += 3) {
+            float[] c = scene.getCameraSpace(points[i], points[i + 1], points[i + 2], cam);
+            float[] p = scene.projectCameraSpace(c, 1280, 720, screen);
+            bh.consume(p[0] + p[1]);
+        }
+    }
+
+    // Consecutive point pairs; roughly half of them straddle or sit behind the near plane
+    @Benchmark
+    @OperationsPerInvocation(POINTS - 1)
+    public int projectAndDrawLine() {
+        target.reset();
+        for (int i = 0; i + 5 < points.length; i += 3) {
+            scene.projectAndDrawLine(target,
+                points[i], points[i + 1], points[i + 2],
+                points[i + 3], points[i + 4], points[i + 5]);
+        }
+        return target.lines;
+    }
+
+    // One 12-edge cube per point through the indexed mesh path (8 vertex transforms per cube)
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public int drawCubeMesh() {
+        target.reset();
+        for (int i = 0; i < points.length; i += 3) {
+            scene.drawMesh(target, CUBE, points[i], points[i + 1], points[i + 2], 40f, 0xFFFF0000);
+        }
+        return target.lines;
+    }
+
+    // The same cubes as twelve independent projectAndDrawLine calls (24 vertex transforms per cube)
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public int drawCubePerEdge() {
+        target.reset();
+        float[] v = CUBE.vertices;
+        int[] e = CUBE.edges;
+        for (int i = 0; i < points.length; i += 3) {
+            for (int k = 0; k < e.length; k += 2) {
+                int a = 3 * e[k], b = 3 * e[k + 1];
+                scene.projectAndDrawLine(target,
+                    points[i] + v[a] * 40f, points[i + 1] + v[a + 1] * 40f, points[i + 2] + v[a + 2] * 40f,
+                    points[i] + v[b] * 40f, points[i + 1] + v[b + 1] * 40f, points[i + 2] + v[b + 2] * 40f);
+            }
+        }
+        return target.lines;
+    }
+}
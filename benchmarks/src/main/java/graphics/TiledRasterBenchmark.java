@@ -0,0 +1,59 @@
+package graphics;
+
+import engine.CubeStore;
+import objects.Player;
+import objects.RectangularPrismWithWireframe;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Full frames (clear, project, bin, rasterize) through TiledRasterizer with a given number of
+// worker threads; threads = 1 draws every tile on the benchmark thread, as a serial baseline
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TiledRasterBenchmark {
+    @Param({"1000", "10000"})
+    public int cubes;
+
+    @Param({"1280x720", "2560x1440"})
+    public String resolution;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private SceneRenderer scene;
+    private TiledRasterizer rasterizer;
+    private CubeStore store;
+    private RectangularPrismWithWireframe platform;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        store = new CubeStore(cubes);
+        for (int i = 0; i < cubes; i++) {
+            store.add((random.nextFloat() - 0.5f) * 3200f, 340f + random.nextFloat() * 200f,
+                (random.nextFloat() - 0.5f) * 3200f, 0f, 0f, Color.RED.getRGB());
+        }
+        platform = new RectangularPrismWithWireframe(0, 300f, 0, 240, 40, 240, 0xFF00FF00);
+        player = new Player(0, 330f, 0);
+        scene = new SceneRenderer();
+        scene.setCamera(0f, 398f, 188f, 180f, 20f);
+        String[] size = resolution.split("x");
+        rasterizer = new TiledRasterizer(Integer.parseInt(size[0]), Integer.parseInt(size[1]), threads);
+    }
+
+    @Benchmark
+    public int tiledFrame() {
+        rasterizer.clear(0xFF000000);
+        scene.render(rasterizer, platform, player, store, 1f);
+        rasterizer.finish();
+        return rasterizer.getPixels()[rasterizer.getWidth() * rasterizer.getHeight() / 2];
+    }
+}
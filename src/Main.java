@@ -3,6 +3,24 @@ import engine.Engine;
 public class Main {
     public static void main(String[] args) {
         Engine gameEngine = new Engine();
+        // e.g. -Dvoxelvault.statsCsv=stats.csv to keep per-phase timings of each session
+        String statsCsv = System.getProperty("voxelvault.statsCsv");
+        if (statsCsv != null) gameEngine.setStatsCsvFile(new java.io.File(statsCsv));
+        // -Dvoxelvault.record=run.vvr saves each session's input for engine.ReplayRunner;
+        // -Dvoxelvault.seed=N makes every session use the same spawn sequence
+        String record = System.getProperty("voxelvault.record");
+        if (record != null) gameEngine.setRecordFile(new java.io.File(record));
+        String seed = System.getProperty("voxelvault.seed");
+        if (seed != null) gameEngine.setSeed(Long.parseLong(seed));
+        // -Dvoxelvault.activeRendering=false falls back to Swing-driven repaint() for comparison
+        if ("false".equals(System.getProperty("voxelvault.activeRendering"))) gameEngine.setActiveRendering(false);
+        // -Dvoxelvault.tiledRaster=true rasterizes the scene on all cores (TiledRasterizer)
+        if (Boolean.getBoolean("voxelvault.tiledRaster")) gameEngine.setTiledRasterization(true);
+        // -Dvoxelvault.fullWireframe=true starts with hidden edges drawn too (F4 toggles in game)
+        if (Boolean.getBoolean("voxelvault.fullWireframe")) gameEngine.setHiddenEdgeCulling(false);
+        // -Dvoxelvault.spawnRate=500 spawns 500 cubes/s for stress testing
+        String spawnRate = System.getProperty("voxelvault.spawnRate");
+        if (spawnRate != null) gameEngine.setSpawnRateOverride(Float.parseFloat(spawnRate));
         gameEngine.start();
     }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Batch mode for tuning the difficulty curve: plays many independent sessions with a
+// ScriptedBot, each with its own seeded Simulation, and prints how long the bot survived and
+// what it scored as histograms. Sessions run side by side on a ForkJoin pool, once for each
+// worker count (1, 2, 4... up to the core count by default), to show sessions/s and scaling.
+// Usage: BotArena [sessions] [maxSeconds] [threads...]
+// Results only depend on the session seeds, so every worker count must print the same digest.
+public class BotArena {
+    private static final long BASE_SEED = 1;
+    private static final float BOT_LAPSE_CHANCE = 0.1f;
+    private static final int HISTOGRAM_BUCKETS = 12;
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int maxSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        int[] threads;
+        if (args.length > 2) {
+            threads = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++) threads[i - 2] = Integer.parseInt(args[i]);
+        } else {
+            int cores = Runtime.getRuntime().availableProcessors();
+            threads = new int[32 - Integer.numberOfLeadingZeros(cores)];
+            for (int i = 0; i < threads.length; i++) threads[i] = Math.min(1 << i, cores);
+        }
+        long maxTicks = (long) maxSeconds * Simulation.TICKS_PER_SECOND;
+
+        // Warm up so the first worker count isn't timed against the interpreter
+        int warmup = Math.min(sessions, 200);
+        play(warmup, maxTicks, threads[0], new int[warmup], new int[warmup]);
+
+        int[] survivedTicks = new int[sessions];
+        int[] points = new int[sessions];
+        double baseRate = 0;
+        long digest = 0;
+        for (int t : threads) {
+            long start = System.nanoTime();
+            long ticks = play(sessions, maxTicks, t, survivedTicks, points);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double rate = sessions / seconds;
+            if (baseRate == 0) baseRate = rate;
+            long d = digest(survivedTicks, points);
+            if (digest == 0) digest = d;
+            System.out.printf("threads %2d: %d sessions in %.2f s, %7.1f sessions/s, %5.2f M ticks/s, %.2fx, results %016x%s%n",
+                t, sessions, seconds, rate, ticks / seconds / 1e6, rate / baseRate, d,
+                d == digest ? "" : " (DIFFERS)");
+        }
+
+        int capped = 0;
+        for (int s : survivedTicks) if (s >= maxTicks) capped++;
+        System.out.printf("%nsurvival, seconds (%d of %d sessions hit the %d s cap)%n", capped, sessions, maxSeconds);
+        printHistogram(survivedTicks, Simulation.TICKS_PER_SECOND);
+        System.out.printf("%nscore, cubes passed%n");
+        printHistogram(points, 1);
+    }
+
+    // Plays sessions 0..sessions-1 on the given number of workers, filling in each one's result,
+    // and returns the total ticks played. Workers take the next unplayed session as they finish,
+    // since session lengths vary by orders of magnitude.
+    static long play(int sessions, long maxTicks, int workers, int[] survivedTicks, int[] points) throws Exception {
+        AtomicInteger nextSession = new AtomicInteger();
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            tasks.add(() -> {
+                long ticks = 0;
+                for (int s; (s = nextSession.getAndIncrement()) < sessions; ) {
+                    long seed = sessionSeed(s);
+                    Simulation simulation = new Simulation(seed);
+                    HeadlessRunner runner = new HeadlessRunner(simulation, new ScriptedBot(simulation, ~seed, BOT_LAPSE_CHANCE));
+                    long ran = runner.run(maxTicks);
+                    survivedTicks[s] = (int) ran;
+                    points[s] = simulation.getPoints();
+                    ticks += ran;
+                }
+                return ticks;
+            });
+        }
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            long total = 0;
+            // invokeAll waits for every worker, which also publishes their writes to the arrays
+            for (Future<Long> f : pool.invokeAll(tasks)) total += f.get();
+            return total;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Spreads consecutive session numbers over unrelated seeds (SplitMix64 finalizer)
+    static long sessionSeed(int session) {
+        long z = BASE_SEED + session * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long digest(int[] survivedTicks, int[] points) {
+        return (long) Arrays.hashCode(survivedTicks) << 32 ^ (Arrays.hashCode(points) & 0xFFFFFFFFL);
+    }
+
+    // Mean and percentiles, then HISTOGRAM_BUCKETS equal-width buckets from 0 to the maximum;
+    // values are divided by unit for display
+    private static void printHistogram(int[] values, int unit) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+        double mean = 0;
+        for (int v : sorted) mean += v;
+        mean /= n;
+        System.out.printf("  mean %.1f, p10 %.1f, p50 %.1f, p90 %.1f, max %.1f%n",
+            mean / unit, sorted[n / 10] / (double) unit, sorted[n / 2] / (double) unit,
+            sorted[Math.min(n - 1, n * 9 / 10)] / (double) unit, sorted[n - 1] / (double) unit);
+
+        int max = sorted[n - 1];
+        int width = Math.max(1, (max + HISTOGRAM_BUCKETS) / HISTOGRAM_BUCKETS);
+        int[] counts = new int[HISTOGRAM_BUCKETS];
+        for (int v : sorted) counts[Math.min(v / width, HISTOGRAM_BUCKETS - 1)]++;
+        int largest = Arrays.stream(counts).max().orElse(1);
+        for (int b = 0; b < HISTOGRAM_BUCKETS; b++) {
+            int bar = (int) Math.round(40.0 * counts[b] / largest);
+            System.out.printf("  %7.1f - %7.1f %6d %s%n", b * width / (double) unit, (b + 1) * width / (double) unit,
+                counts[b], "#".repeat(bar));
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package engine;
+
+import utils.IntList;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Moving cube clusters stored as parallel arrays (structure of arrays). Each entry is a rigid
+// group of voxels (a VoxelShape) that moves as one unit; a lone cube is a one-voxel cluster.
+// Positions are the center of the cluster's bounding box.
+// Clusters are addressed by a dense index in [0, size()) for iteration; removal swaps the
+// last cluster into the freed slot, so indices are only stable until the next removal.
+// Each cluster also has a stable id, used by the spatial index.
+//
+// The store doubles as the cluster pool: add() acquires a slot and recycles a freed id
+// (resetting velocity, colour and shape), removeAt() and clear() release them, and the arrays
+// only grow when more clusters are alive at once than ever before.
+public class CubeStore {
+    public static final float SIZE = 40f;
+    public static final float HALF_SIZE = SIZE / 2f;
+    // No cluster reaches further than this from its center along X or Z
+    public static final float MAX_HALF_EXTENT = VoxelShape.MAX_EXTENT * HALF_SIZE;
+
+    private int size;
+    private float[] x, y, z;
+    private float[] vx, vz;
+    private float[] prevX, prevZ; // position at the start of the tick, for render interpolation
+    private int[] color; // ARGB
+    private VoxelShape[] shape;
+    private int[] idOf; // index -> id
+    private int voxelCount; // across all clusters
+
+    private int[] indexOfId = new int[0]; // id -> index, -1 when the id is free
+    private final IntList freeIds = new IntList();
+    private int nextId = 0;
+    // Adds that recycled a freed id / minted a new one. Only ids: every per-cluster field is a
+    // primitive array slot, so neither kind allocates an object.
+    private long reusedIds, newIds;
+
+    // Broadphase over cluster centers, kept in sync by add/integrate/removeAt/clear
+    private final SpatialHash index = new SpatialHash(80f);
+
+    // Above parallelThreshold cubes, integrate() and despawnPassed() split the arrays into
+    // CHUNK-sized ranges and run them on the pool. Each chunk writes only its own slots and
+    // its own list in chunkHits; anything that touches shared structure (the spatial index,
+    // removal) is applied afterwards on the calling thread, in the same order as a serial pass.
+    private static final int CHUNK = 4096;
+    private int parallelThreshold = 16384;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private IntList[] chunkHits = new IntList[0];
+    private float despawnX, despawnY, despawnZ, despawnDistanceSq; // arguments of despawnPassed for the workers
+    private long parallelPasses; // integrate/despawn passes that ran on the pool
+
+    public CubeStore() {
+        this(256);
+    }
+
+    public CubeStore(int initialCapacity) {
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    public int size() { return size; }
+    public int getVoxelCount() { return voxelCount; }
+
+    public float getX(int i) { return x[i]; }
+    public float getY(int i) { return y[i]; }
+    public float getZ(int i) { return z[i]; }
+    public float getVelocityX(int i) { return vx[i]; }
+    public float getVelocityZ(int i) { return vz[i]; }
+    public int getColor(int i) { return color[i]; }
+    public VoxelShape getShape(int i) { return shape[i]; }
+    public int getId(int i) { return idOf[i]; }
+    public long getReusedIdCount() { return reusedIds; }
+    public long getNewIdCount() { return newIds; }
+
+    // alpha is how far we are between the previous tick (0) and the current one (1)
+    public float getRenderX(int i, float alpha) { return prevX[i] + (x[i] - prevX[i]) * alpha; }
+    public float getRenderZ(int i, float alpha) { return prevZ[i] + (z[i] - prevZ[i]) * alpha; }
+
+    // Current index of a cluster id, or -1 if it has been removed
+    public int indexOf(int id) {
+        return id >= 0 && id < indexOfId.length ? indexOfId[id] : -1;
+    }
+
+    // Adds a single cube and returns its index
+    public int add(float cx, float cy, float cz, float velX, float velZ, int argb) {
+        return add(cx, cy, cz, velX, velZ, argb, VoxelShape.SINGLE);
+    }
+
+    // Acquires a cluster from the pool, initialises every field and returns its index.
+    // (cx, cy, cz) is the center of the shape's bounding box.
+    public int add(float cx, float cy, float cz, float velX, float velZ, int argb, VoxelShape voxels) {
+        if (size == x.length) allocate(size * 2);
+        int id;
+        if (freeIds.isEmpty()) {
+            id = nextId++;
+            newIds++;
+        } else {
+            id = popFreeId();
+            reusedIds++;
+        }
+        if (id >= indexOfId.length) {
+            int oldLength = indexOfId.length;
+            indexOfId = Arrays.copyOf(indexOfId, Math.max(id + 1, oldLength * 2));
+            Arrays.fill(indexOfId, oldLength, indexOfId.length, -1);
+        }
+        int i = size++;
+        x[i] = cx; y[i] = cy; z[i] = cz;
+        prevX[i] = cx; prevZ[i] = cz;
+        vx[i] = velX; vz[i] = velZ;
+        color[i] = argb;
+        shape[i] = voxels;
+        voxelCount += voxels.getVoxelCount();
+        idOf[i] = id;
+        indexOfId[id] = i;
+        index.insert(id, cx, cz);
+        return i;
+    }
+
+    // Releases cluster i back to the pool by moving the last cluster into its slot
+    public void removeAt(int i) {
+        int id = idOf[i];
+        index.remove(id);
+        indexOfId[id] = -1;
+        freeIds.add(id);
+        voxelCount -= shape[i].getVoxelCount();
+
+        int last = --size;
+        if (i != last) {
+            x[i] = x[last]; y[i] = y[last]; z[i] = z[last];
+            prevX[i] = prevX[last]; prevZ[i] = prevZ[last];
+            vx[i] = vx[last]; vz[i] = vz[last];
+            color[i] = color[last];
+            shape[i] = shape[last];
+            idOf[i] = idOf[last];
+            indexOfId[idOf[i]] = i;
+        }
+        shape[last] = null;
+    }
+
+    // Releases every cluster. All ids go back to the free list so the next session reuses them,
+    // in the order a fresh store would hand them out
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            indexOfId[idOf[i]] = -1;
+            shape[i] = null;
+        }
+        size = 0;
+        voxelCount = 0;
+        freeIds.clear();
+        for (int id = nextId - 1; id >= 0; id--) freeIds.add(id);
+        index.clear();
+    }
+
+    public void storePreviousPositions() {
+        System.arraycopy(x, 0, prevX, 0, size);
+        System.arraycopy(z, 0, prevZ, 0, size);
+    }
+
+    // Cluster count from which integrate() and despawnPassed() go parallel
+    public void setParallelThreshold(int cubes) { this.parallelThreshold = cubes; }
+
+    public void setPool(ForkJoinPool pool) { this.pool = pool; }
+
+    // How many integrate()/despawnPassed() calls took the parallel path so far
+    public long getParallelPasses() { return parallelPasses; }
+
+    // Moves every cluster by its velocity and re-buckets the ones that crossed a cell
+    public void integrate() {
+        if (size < parallelThreshold) {
+            for (int i = 0; i < size; i++) {
+                x[i] += vx[i];
+                z[i] += vz[i];
+                index.update(idOf[i], x[i], z[i]);
+            }
+            return;
+        }
+        // Move in parallel, noting who changed cell; only those few touch the hash
+        int chunks = forEachChunk(true);
+        for (int c = 0; c < chunks; c++) {
+            IntList moved = chunkHits[c];
+            for (int k = 0; k < moved.size(); k++) {
+                int i = moved.get(k);
+                index.update(idOf[i], x[i], z[i]);
+            }
+        }
+    }
+
+    // Removes every cluster more than distance from (ox, oy, oz) that is moving away from it in
+    // XZ, and returns how many cubes (voxels) went. Candidates are found first (in parallel for large stores)
+    // and then removed from the highest index down, so each swap-remove only pulls in a cluster
+    // that stays; serial and parallel runs leave the store in the same order.
+    public int despawnPassed(float ox, float oy, float oz, float distance) {
+        despawnX = ox;
+        despawnY = oy;
+        despawnZ = oz;
+        despawnDistanceSq = distance * distance;
+        int chunks = size < parallelThreshold ? collectSerially() : forEachChunk(false);
+        int removed = 0;
+        for (int c = chunks - 1; c >= 0; c--) {
+            IntList passed = chunkHits[c];
+            for (int k = passed.size() - 1; k >= 0; k--) {
+                int i = passed.get(k);
+                removed += shape[i].getVoxelCount();
+                removeAt(i);
+            }
+        }
+        return removed;
+    }
+
+    private int collectSerially() {
+        int chunks = prepareChunks();
+        for (int c = 0; c < chunks; c++) {
+            collectPassed(c * CHUNK, Math.min(size, (c + 1) * CHUNK), chunkHits[c]);
+        }
+        return chunks;
+    }
+
+    private void collectPassed(int from, int to, IntList out) {
+        for (int i = from; i < to; i++) {
+            float dx = x[i] - despawnX;
+            float dy = y[i] - despawnY;
+            float dz = z[i] - despawnZ;
+            // Compare squared distances, no sqrt; only once it has passed (moving away)
+            if (dx * dx + dy * dy + dz * dz > despawnDistanceSq && dx * vx[i] + dz * vz[i] > 0) out.add(i);
+        }
+    }
+
+    private void moveRange(int from, int to, IntList moved) {
+        for (int i = from; i < to; i++) {
+            x[i] += vx[i];
+            z[i] += vz[i];
+            if (index.needsUpdate(idOf[i], x[i], z[i])) moved.add(i);
+        }
+    }
+
+    // Clears one hit list per chunk and returns the chunk count
+    private int prepareChunks() {
+        int chunks = (size + CHUNK - 1) / CHUNK;
+        if (chunkHits.length < chunks) {
+            int old = chunkHits.length;
+            chunkHits = Arrays.copyOf(chunkHits, chunks);
+            for (int c = old; c < chunks; c++) chunkHits[c] = new IntList();
+        }
+        for (int c = 0; c < chunks; c++) chunkHits[c].clear();
+        return chunks;
+    }
+
+    private int forEachChunk(boolean move) {
+        int chunks = prepareChunks();
+        parallelPasses++;
+        pool.invoke(new ChunkRange(0, chunks, move));
+        return chunks;
+    }
+
+    private final class ChunkRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+        private final boolean move;
+
+        ChunkRange(int from, int to, boolean move) {
+            this.from = from;
+            this.to = to;
+            this.move = move;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int start = from * CHUNK, end = Math.min(size, start + CHUNK);
+                if (move) moveRange(start, end, chunkHits[from]);
+                else collectPassed(start, end, chunkHits[from]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkRange(from, mid, move), new ChunkRange(mid, to, move));
+        }
+    }
+
+    // Fills out with the indices of clusters whose center lies near the given XZ rectangle.
+    // Pad the rectangle by MAX_HALF_EXTENT to catch every cluster whose footprint overlaps it.
+    public void queryXZ(float minX, float minZ, float maxX, float maxZ, IntList out) {
+        index.query(minX, minZ, maxX, maxZ, out);
+        for (int k = 0; k < out.size(); k++) {
+            out.set(k, indexOfId[out.get(k)]);
+        }
+    }
+
+    private int popFreeId() {
+        int id = freeIds.get(freeIds.size() - 1);
+        freeIds.swapRemove(freeIds.size() - 1);
+        return id;
+    }
+
+    private void allocate(int capacity) {
+        int n = size;
+        x = grow(x, capacity, n); y = grow(y, capacity, n); z = grow(z, capacity, n);
+        vx = grow(vx, capacity, n); vz = grow(vz, capacity, n);
+        prevX = grow(prevX, capacity, n); prevZ = grow(prevZ, capacity, n);
+        color = grow(color, capacity, n);
+        shape = shape == null ? new VoxelShape[capacity] : Arrays.copyOf(shape, capacity);
+        idOf = grow(idOf, capacity, n);
+    }
+
+    private static float[] grow(float[] a, int capacity, int n) {
+        float[] b = new float[capacity];
+        if (a != null) System.arraycopy(a, 0, b, 0, n);
+        return b;
+    }
+
+    private static int[] grow(int[] a, int capacity, int n) {
+        int[] b = new int[capacity];
+        if (a != null) System.arraycopy(a, 0, b, 0, n);
+        return b;
+    }
+}
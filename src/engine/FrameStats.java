@@ -0,0 +1,74 @@
+package engine;
+
+import utils.LatencyHistogram;
+
+import java.util.Locale;
+
+// Per-phase timing for simulation ticks and painted frames. Each phase has its own histogram;
+// simulation phases and INPUT_TO_TICK are recorded from the game loop, PAINT and LATENCY from whichever thread
+// presents the frame (the loop thread with active rendering, otherwise the EDT).
+public class FrameStats {
+    public enum Phase {
+        INPUT("input"),
+        PLAYER("player"),
+        PHYSICS("physics"),
+        SPAWN("spawn"),
+        INTEGRATE("integrate"),
+        DESPAWN("despawn"),
+        PAINT("paint"),
+        // Oldest input event consumed by a tick until that tick starts
+        INPUT_TO_TICK("in->tick"),
+        // Oldest input event consumed by a tick until the first frame showing that tick is on screen
+        LATENCY("in->disp");
+
+        public final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+
+    public FrameStats() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public void record(Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    public LatencyHistogram get(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    // Start a fresh session; readers on other threads may briefly see partial counts
+    public void reset() {
+        for (LatencyHistogram h : histograms) h.reset();
+    }
+
+    // One line per phase, durations in microseconds
+    public String[] summaryLines() {
+        String[] lines = new String[PHASES.length];
+        for (Phase p : PHASES) {
+            LatencyHistogram h = get(p);
+            lines[p.ordinal()] = String.format(Locale.ROOT, "%-9s p50 %7.1f  p99 %7.1f  max %8.1f us",
+                p.label, h.getPercentile(50) / 1e3, h.getPercentile(99) / 1e3, h.getMax() / 1e3);
+        }
+        return lines;
+    }
+
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder("phase,count,mean_us,p50_us,p99_us,max_us\n");
+        for (Phase p : PHASES) {
+            LatencyHistogram h = get(p);
+            sb.append(String.format(Locale.ROOT, "%s,%d,%.3f,%.3f,%.3f,%.3f%n", p.label, h.getCount(),
+                h.getMean() / 1e3, h.getPercentile(50) / 1e3, h.getPercentile(99) / 1e3, h.getMax() / 1e3));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package engine;
+
+import input.InputSource;
+import input.TickInput;
+
+// Drives a Simulation without a window: ticks back to back as fast as the CPU allows, reading
+// input from an InputSource and optionally handing every Nth tick to a RenderSink. Nothing here
+// touches AWT, so it runs on servers, in tests and in benchmarks.
+// Usage: HeadlessRunner [ticks] [seed] - an idle player, respawned at each game over
+public class HeadlessRunner {
+    private final Simulation simulation;
+    private final InputSource input;
+    private final TickInput tickInput = new TickInput();
+    private RenderSink renderSink;
+    private int ticksPerFrame = 1;
+    private boolean respawnOnGameOver;
+    private int gameOvers;
+
+    public HeadlessRunner(Simulation simulation, InputSource input) {
+        this.simulation = simulation;
+        this.input = input;
+    }
+
+    public Simulation getSimulation() { return simulation; }
+    public int getGameOvers() { return gameOvers; }
+
+    // Presents the state after every ticksPerFrame-th tick; null renders nothing
+    public void setRenderSink(RenderSink sink, int ticksPerFrame) {
+        if (ticksPerFrame < 1) throw new IllegalArgumentException("ticksPerFrame must be at least 1");
+        this.renderSink = sink;
+        this.ticksPerFrame = ticksPerFrame;
+    }
+
+    // false (the default) stops at game over; true puts the player back and keeps going
+    public void setRespawnOnGameOver(boolean respawn) { this.respawnOnGameOver = respawn; }
+
+    // Ticks until maxTicks have run, the input runs out or the game ends, and returns the
+    // number of ticks run
+    public long run(long maxTicks) {
+        long ran = 0;
+        while (ran < maxTicks && !simulation.isGameOver() && input.next(tickInput)) {
+            simulation.tick(tickInput);
+            ran++;
+            if (simulation.isGameOver()) {
+                gameOvers++;
+                if (respawnOnGameOver) simulation.respawnPlayer();
+            }
+            if (renderSink != null && ran % ticksPerFrame == 0) renderSink.present(simulation, 1f);
+        }
+        return ran;
+    }
+
+    public static void main(String[] args) {
+        long ticks = args.length > 0 ? Long.parseLong(args[0]) : 200_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+
+        // Nobody at the keys
+        InputSource idle = input -> {
+            input.set(0, 0, 0);
+            return true;
+        };
+        HeadlessRunner runner = new HeadlessRunner(new Simulation(seed), idle);
+        runner.setRespawnOnGameOver(true);
+        // Warm up on a separate simulation so the timed run starts from the same seed
+        new HeadlessRunner(new Simulation(seed), idle).run(Math.min(ticks, 20_000));
+
+        long start = System.nanoTime();
+        long ran = runner.run(ticks);
+        long elapsed = System.nanoTime() - start;
+        Simulation simulation = runner.getSimulation();
+        System.out.printf("%d ticks in %.1f ms (%.0f ticks/s, %.0fx real time), %d game overs, %d clusters at the end, state %016x%n",
+            ran, elapsed / 1e6, ran / (elapsed / 1e9), ran / (elapsed / 1e9) / Simulation.TICKS_PER_SECOND,
+            runner.getGameOvers(), simulation.getWorld().movingCubes.size(), simulation.stateChecksum());
+    }
+}
@@ -0,0 +1,109 @@
+package engine;
+
+import java.io.*;
+import java.util.Arrays;
+
+import input.InputSource;
+import input.TickInput;
+
+// One session's input as a compact binary log: the seed, starting camera orbit and stress spawn
+// rate, then per tick the key bitmask and mouse delta (three shorts), then the final score and
+// Simulation.stateChecksum() so a replay can tell whether it reproduced the session.
+public class InputRecording {
+    private static final int MAGIC = 0x56565231; // "VVR1"
+    // Bumped whenever the simulation rules or the header change, since older logs would no longer
+    // reproduce. 2: cubes spawn as voxel clusters; 3: the header records the spawn rate override
+    private static final int VERSION = 3;
+
+    private final long seed;
+    private final float startYaw, startPitch;
+    private final float spawnRateOverride; // cubes per second, NaN for the difficulty curve
+    private short[] ticks = new short[3 * 1024]; // keys, dx, dy per tick
+    private int tickCount;
+    private int finalPoints;
+    private long finalChecksum;
+
+    // spawnRateOverride as passed to Simulation.setSpawnRateOverride; 0 or NaN for none
+    public InputRecording(long seed, float startYaw, float startPitch, float spawnRateOverride) {
+        this.seed = seed;
+        this.startYaw = startYaw;
+        this.startPitch = startPitch;
+        this.spawnRateOverride = spawnRateOverride > 0 ? spawnRateOverride : Float.NaN;
+    }
+
+    public long getSeed() { return seed; }
+    public float getStartYaw() { return startYaw; }
+    public float getStartPitch() { return startPitch; }
+    public float getSpawnRateOverride() { return spawnRateOverride; }
+    public int getTickCount() { return tickCount; }
+    public int getFinalPoints() { return finalPoints; }
+    public long getFinalChecksum() { return finalChecksum; }
+
+    public void record(TickInput input) {
+        if (3 * tickCount + 3 > ticks.length) ticks = Arrays.copyOf(ticks, ticks.length * 2);
+        int o = 3 * tickCount++;
+        ticks[o] = (short) input.getKeys();
+        ticks[o + 1] = clampToShort(input.getMouseDX());
+        ticks[o + 2] = clampToShort(input.getMouseDY());
+    }
+
+    public void finish(Simulation simulation) {
+        finalPoints = simulation.getPoints();
+        finalChecksum = simulation.stateChecksum();
+    }
+
+    // Loads tick i into input
+    public void load(int i, TickInput input) {
+        int o = 3 * i;
+        input.set(ticks[o] & 0xFFFF, ticks[o + 1], ticks[o + 2]);
+    }
+
+    // The recorded ticks in order, as input for a simulation built from getSeed()
+    public InputSource playback() {
+        return new InputSource() {
+            private int next;
+
+            @Override
+            public boolean next(TickInput input) {
+                if (next >= tickCount) return false;
+                load(next++, input);
+                return true;
+            }
+        };
+    }
+
+    public void write(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeFloat(startYaw);
+            out.writeFloat(startPitch);
+            out.writeFloat(spawnRateOverride);
+            out.writeInt(tickCount);
+            for (int i = 0; i < 3 * tickCount; i++) out.writeShort(ticks[i]);
+            out.writeInt(finalPoints);
+            out.writeLong(finalChecksum);
+        }
+    }
+
+    public static InputRecording read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException(file + " is not an input recording");
+            int version = in.readInt();
+            if (version != VERSION) throw new IOException("Unsupported recording version " + version);
+            InputRecording recording = new InputRecording(in.readLong(), in.readFloat(), in.readFloat(), in.readFloat());
+            int count = in.readInt();
+            recording.ticks = new short[Math.max(3 * count, 3)];
+            for (int i = 0; i < 3 * count; i++) recording.ticks[i] = in.readShort();
+            recording.tickCount = count;
+            recording.finalPoints = in.readInt();
+            recording.finalChecksum = in.readLong();
+            return recording;
+        }
+    }
+
+    private static short clampToShort(int v) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, v));
+    }
+}
@@ -2,7 +2,12 @@ package engine;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+// Top scores kept in memory; the file is only touched by a background IO thread
 public class Leaderboard {
     private static final String FILE = "leaderboard.txt";
     private static final int MAX_ENTRIES = 3;
@@ -16,41 +21,102 @@ public class Leaderboard {
         }
     }
 
-    public static List<Entry> load() {
-        List<Entry> entries = new ArrayList<>();
+    private static final ExecutorService io = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "leaderboard-io");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final Object lock = new Object();
+    private static final AtomicBoolean flushPending = new AtomicBoolean(false);
+    // Immutable snapshot handed out to readers (the renderer reads this every title frame)
+    private static volatile List<Entry> entries = Collections.emptyList();
+
+    static {
+        // Give queued writes a chance to land when the window is closed
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            io.shutdown();
+            try { io.awaitTermination(2, TimeUnit.SECONDS); } catch (InterruptedException ignored) {}
+        }));
+    }
+
+    // Reads the file in the background; scores added before it finishes are merged in
+    public static void preload() {
+        io.execute(() -> {
+            List<Entry> fromFile = readFile();
+            synchronized (lock) {
+                List<Entry> merged = new ArrayList<>(entries);
+                merged.addAll(fromFile);
+                entries = topEntries(merged);
+            }
+        });
+    }
+
+    public static List<Entry> getEntries() {
+        return entries;
+    }
+
+    // Runs onTopScore on the IO thread if score makes the board. The check is queued behind
+    // preload(), so scores on file count even if the game ended before they were read, and the
+    // caller never waits for the disk.
+    public static void whenTopScore(int score, Runnable onTopScore) {
+        io.execute(() -> {
+            if (isTopScore(score)) onTopScore.run();
+        });
+    }
+
+    private static boolean isTopScore(int score) {
+        List<Entry> current = entries;
+        if (current.size() < MAX_ENTRIES) return true;
+        return score > current.get(current.size() - 1).score;
+    }
+
+    public static void addScore(String name, int score) {
+        synchronized (lock) {
+            List<Entry> updated = new ArrayList<>(entries);
+            updated.add(new Entry(name, score));
+            entries = topEntries(updated);
+        }
+        scheduleFlush();
+    }
+
+    // Coalesces writes: at most one flush is queued, and it writes whatever is current when it runs
+    private static void scheduleFlush() {
+        if (flushPending.compareAndSet(false, true)) {
+            io.execute(() -> {
+                flushPending.set(false);
+                writeFile(entries);
+            });
+        }
+    }
+
+    private static List<Entry> topEntries(List<Entry> list) {
+        list.sort((a, b) -> Integer.compare(b.score, a.score));
+        if (list.size() > MAX_ENTRIES) list = list.subList(0, MAX_ENTRIES);
+        return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    private static List<Entry> readFile() {
+        List<Entry> list = new ArrayList<>();
         try (BufferedReader br = new BufferedReader(new FileReader(FILE))) {
             String line;
             while ((line = br.readLine()) != null) {
                 String[] parts = line.split(",", 2);
-                if (parts.length == 2) {
-                    entries.add(new Entry(parts[0], Integer.parseInt(parts[1])));
+                if (parts.length != 2) continue;
+                try {
+                    list.add(new Entry(parts[0], Integer.parseInt(parts[1].trim())));
+                } catch (NumberFormatException ignored) {
+                    // Skip just this line; the rest of the file is still good
                 }
             }
         } catch (IOException ignored) {}
-        entries.sort((a, b) -> Integer.compare(b.score, a.score));
-        if (entries.size() > MAX_ENTRIES) entries = entries.subList(0, MAX_ENTRIES);
-        return entries;
+        return list;
     }
 
-    public static void save(List<Entry> entries) {
+    private static void writeFile(List<Entry> list) {
         try (PrintWriter pw = new PrintWriter(new FileWriter(FILE))) {
-            for (Entry e : entries) {
+            for (Entry e : list) {
                 pw.println(e.name + "," + e.score);
             }
         } catch (IOException ignored) {}
     }
-
-    public static boolean isTopScore(int score) {
-        List<Entry> entries = load();
-        if (entries.size() < MAX_ENTRIES) return true;
-        return score > entries.get(entries.size() - 1).score;
-    }
-
-    public static void addScore(String name, int score) {
-        List<Entry> entries = load();
-        entries.add(new Entry(name, score));
-        entries.sort((a, b) -> Integer.compare(b.score, a.score));
-        if (entries.size() > MAX_ENTRIES) entries = entries.subList(0, MAX_ENTRIES);
-        save(entries);
-    }
-}
\ No newline at end of file
+}
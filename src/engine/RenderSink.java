@@ -0,0 +1,8 @@
+package engine;
+
+// Receives frames from whatever drives the simulation. The game's Swing renderer is one;
+// headless runs can pass one to take snapshots or count frames, or none at all.
+public interface RenderSink {
+    // Shows the simulation's state, alpha of the way from the previous tick to the current one
+    void present(Simulation simulation, float alpha);
+}
@@ -0,0 +1,52 @@
+package engine;
+
+import java.io.File;
+import java.io.IOException;
+
+// Replays a recorded session headlessly, as fast as the simulation can tick, and checks
+// the result against what was recorded. Usage: ReplayRunner <recording> [repeats]
+// Exits with status 1 if the replay diverged, which makes it usable as a regression check
+// as well as a repeatable workload for profiling.
+public class ReplayRunner {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: ReplayRunner <recording> [repeats]");
+            System.exit(2);
+        }
+        InputRecording recording = InputRecording.read(new File(args[0]));
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        if (!Float.isNaN(recording.getSpawnRateOverride())) {
+            System.out.printf("recorded with a fixed spawn rate of %.0f cubes/s%n", recording.getSpawnRateOverride());
+        }
+
+        boolean matched = true;
+        for (int r = 0; r < repeats; r++) {
+            Simulation simulation = new Simulation(recording.getSeed());
+            long start = System.nanoTime();
+            replay(recording, simulation);
+            long elapsed = System.nanoTime() - start;
+
+            boolean ok = simulation.getPoints() == recording.getFinalPoints()
+                && simulation.stateChecksum() == recording.getFinalChecksum();
+            matched &= ok;
+            System.out.printf("run %d: %d ticks in %.1f ms (%.0f ticks/s), points %d (recorded %d), %s%n",
+                r + 1, recording.getTickCount(), elapsed / 1e6,
+                recording.getTickCount() / (elapsed / 1e9),
+                simulation.getPoints(), recording.getFinalPoints(),
+                ok ? "state matches" : "STATE DIVERGED");
+        }
+        if (!matched) System.exit(1);
+    }
+
+    // Feeds every recorded tick into a fresh simulation built from the recording's seed, with
+    // the spawn rate override it was recorded under
+    public static void replay(InputRecording recording, Simulation simulation) {
+        if (!Float.isNaN(recording.getSpawnRateOverride())) {
+            simulation.setSpawnRateOverride(recording.getSpawnRateOverride());
+        }
+        Camera camera = simulation.getCamera();
+        camera.orbitYaw = recording.getStartYaw();
+        camera.orbitPitch = recording.getStartPitch();
+        new HeadlessRunner(simulation, recording.playback()).run(recording.getTickCount());
+    }
+}
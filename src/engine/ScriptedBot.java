@@ -0,0 +1,116 @@
+package engine;
+
+import input.InputSource;
+import input.TickInput;
+import objects.Player;
+import objects.RectangularPrismWithWireframe;
+
+// A simple scripted player for batch runs: it looks at the clusters heading its way, sidesteps
+// or jumps the ones that would hit it, and otherwise walks back to the middle of the platform.
+// It sees the same state a player would and presses the same keys. Its own seeded RNG makes it
+// miss a decision now and then, so sessions differ in more than the spawn sequence.
+public class ScriptedBot implements InputSource {
+    // How far ahead, in ticks of cluster travel, a cluster counts as a threat
+    private static final float LOOKAHEAD_TICKS = 40f;
+    // Jump when a low cluster is this many ticks away; a jump stays up about 30 ticks
+    private static final float JUMP_LEAD_TICKS = 6f;
+    private static final float AIR_TICKS = 30f;
+    // Room kept between the player and the platform edge, and around clusters when dodging
+    private static final float EDGE_MARGIN = 12f;
+    private static final float DODGE_MARGIN = 8f;
+    private static final float KEY_THRESHOLD = 0.38f; // about 68 degrees off a key's axis
+
+    private final Simulation simulation;
+    private final java.util.Random random;
+    private final float lapseChance;
+    private int lastKeys;
+
+    // lapseChance is the chance per tick of holding last tick's keys instead of deciding again
+    public ScriptedBot(Simulation simulation, long seed, float lapseChance) {
+        this.simulation = simulation;
+        this.random = new java.util.Random(seed);
+        this.lapseChance = lapseChance;
+    }
+
+    @Override
+    public boolean next(TickInput input) {
+        if (random.nextFloat() >= lapseChance) lastKeys = decide();
+        input.set(lastKeys, 0, 0);
+        return true;
+    }
+
+    private int decide() {
+        Player player = simulation.getPlayer();
+        RectangularPrismWithWireframe platform = simulation.getWorld().platform;
+        CubeStore cubes = simulation.getWorld().movingCubes;
+        float px = player.getX(), pz = player.getZ();
+        float half = player.getHalfSize();
+        float platformTop = platform.getY() + platform.height / 2f;
+        // Highest a jump gets the player's feet at base difficulty; faster games only jump higher
+        float jumpHeight = 15f * 15f / (2f * 0.98f);
+
+        float moveX = 0, moveZ = 0;
+        boolean jump = false;
+        for (int i = 0; i < cubes.size(); i++) {
+            float vx = cubes.getVelocityX(i), vz = cubes.getVelocityZ(i);
+            float speed = (float) Math.sqrt(vx * vx + vz * vz);
+            if (speed == 0) continue;
+            float dirX = vx / speed, dirZ = vz / speed;
+            float relX = px - cubes.getX(i), relZ = pz - cubes.getZ(i);
+            // Distance ahead of the cluster's center along its travel, and off to its side
+            float along = relX * dirX + relZ * dirZ;
+            float lateral = relX * -dirZ + relZ * dirX;
+            VoxelShape shape = cubes.getShape(i);
+            // Clusters only travel along X or Z
+            float halfAlong = dirX != 0 ? shape.getHalfWidth() : shape.getHalfDepth();
+            float halfAcross = dirX != 0 ? shape.getHalfDepth() : shape.getHalfWidth();
+            float gap = along - halfAlong - half;
+            if (along <= 0 || gap > speed * LOOKAHEAD_TICKS) continue;
+            float clearance = halfAcross + half + DODGE_MARGIN;
+            if (Math.abs(lateral) >= clearance) continue;
+
+            float top = cubes.getY(i) + shape.getHalfHeight() - platformTop;
+            boolean jumpable = top < 0.8f * jumpHeight && 2f * (halfAlong + half) < speed * AIR_TICKS * 0.8f;
+            if (jumpable && gap < speed * JUMP_LEAD_TICKS) {
+                jump = true;
+                continue;
+            }
+            // Step out of its lane on the side we're already on, unless that side is off the edge
+            float side = lateral >= 0 ? 1f : -1f;
+            float limit = platform.width / 2f - half - EDGE_MARGIN;
+            float sideX = px + side * -dirZ * (clearance - Math.abs(lateral));
+            float sideZ = pz + side * dirX * (clearance - Math.abs(lateral));
+            if (Math.abs(sideX - platform.getX()) > limit || Math.abs(sideZ - platform.getZ()) > limit) side = -side;
+            // Nearer threats count more
+            float weight = 1f / (1f + Math.max(gap, 0f) / speed);
+            moveX += side * -dirZ * weight;
+            moveZ += side * dirX * weight;
+        }
+        if (moveX == 0 && moveZ == 0) {
+            // Nothing to dodge: head back towards the middle
+            float toX = platform.getX() - px, toZ = platform.getZ() - pz;
+            if (toX * toX + toZ * toZ > 30f * 30f) {
+                moveX = toX;
+                moveZ = toZ;
+            }
+        }
+        return keysFor(moveX, moveZ) | (jump ? TickInput.SPACE : 0);
+    }
+
+    // W/A/S/D for a world-space direction, relative to where the camera faces
+    private int keysFor(float moveX, float moveZ) {
+        float length = (float) Math.sqrt(moveX * moveX + moveZ * moveZ);
+        if (length == 0) return 0;
+        moveX /= length;
+        moveZ /= length;
+        float yawRad = (float) Math.toRadians(simulation.getCamera().orbitYaw);
+        float forward = moveX * -(float) Math.sin(yawRad) + moveZ * -(float) Math.cos(yawRad);
+        float right = moveX * -(float) Math.cos(yawRad) + moveZ * (float) Math.sin(yawRad);
+        int keys = 0;
+        if (forward > KEY_THRESHOLD) keys |= TickInput.W;
+        if (forward < -KEY_THRESHOLD) keys |= TickInput.S;
+        if (right > KEY_THRESHOLD) keys |= TickInput.D;
+        if (right < -KEY_THRESHOLD) keys |= TickInput.A;
+        return keys;
+    }
+}
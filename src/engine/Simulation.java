@@ -0,0 +1,600 @@
+package engine;
+
+import input.TickInput;
+import objects.Player;
+import utils.IntList;
+
+// The game rules for one session: spawning, cube movement, player movement, collision and
+// scoring. Knows nothing about Swing, so it can be ticked by Engine, a benchmark or a test rig.
+// Everything advances in whole ticks from a seeded RNG, so the same seed and the same
+// TickInput sequence always produce the same session.
+public class Simulation {
+    // Spawn timing is expressed in milliseconds of game time at the fixed tick rate
+    public static final int TICKS_PER_SECOND = 60;
+    private static final float MILLIS_PER_TICK = 1000f / TICKS_PER_SECOND;
+
+    private final World world;
+    private final Player player;
+    private final Camera camera;
+
+    private long tickCount = 0;
+    private long lastSpawnTick = 0;
+    private final long spawnInterval = 2500; // ms
+    private final java.util.Random random;
+    private long seed;
+    private int spawnCount = 0;
+    // Stress testing: when > 0, spawn this many cubes per second instead of the difficulty curve
+    private float spawnRateOverride = 0;
+    private float spawnBudget = 0;
+    private int points = 0;
+    private boolean gameOver = false;
+
+    // Optional per-phase timing; null keeps tick() free of nanoTime calls
+    private FrameStats stats;
+
+    // Indices of clusters near the player this tick, filled from the cube store's spatial index
+    private final IntList nearbyCubes = new IntList();
+    // Shape of the cluster being spawned, reused between spawns
+    private final VoxelShape.Builder clusterBuilder = new VoxelShape.Builder();
+
+    private static final int CUBE_COLOR = 0xFFFF0000; // red, ARGB
+    // Cube speed is (2..4) * difficulty, and difficulty tops out at 3
+    private static final float MAX_CUBE_SPEED = 12f;
+    // Relative moves per tick above this (half the player's size) are swept instead of only
+    // checked for overlap at the end of the tick, so the player cannot pass through a voxel or
+    // sink far enough into one to be pushed out of the wrong side
+    private static final float SWEEP_THRESHOLD = Player.SIZE / 2f;
+
+    // Scratch for sweepAgainstCluster, one entry per axis
+    private final float[] sweepStart = new float[3], sweepMove = new float[3], sweepVoxel = new float[3];
+    private final float[] sweepClusterMin = new float[3];
+    private final int[] sweepSize = new int[3], sweepLo = new int[3], sweepHi = new int[3];
+
+    public Simulation() {
+        this(System.nanoTime());
+    }
+
+    public Simulation(long seed) {
+        this.seed = seed;
+        random = new java.util.Random(seed);
+        world = new World();
+        player = new Player(
+            0,
+            world.platform.getY() + world.platform.height / 2f + Player.SIZE / 2f,
+            0
+        );
+        camera = new Camera();
+    }
+
+    public World getWorld() { return world; }
+    public Player getPlayer() { return player; }
+    public Camera getCamera() { return camera; }
+    public int getPoints() { return points; }
+    public long getTickCount() { return tickCount; }
+    public long getSeed() { return seed; }
+    // Set by the tick in which the player falls off; cleared by reset()
+    public boolean isGameOver() { return gameOver; }
+    public void setFrameStats(FrameStats stats) { this.stats = stats; }
+    public void setSpawnRateOverride(float cubesPerSecond) { this.spawnRateOverride = cubesPerSecond; }
+    public float getSpawnRateOverride() { return spawnRateOverride; }
+
+    public void reset() {
+        reset(System.nanoTime());
+    }
+
+    // Puts the player back on the platform and clears cubes and score for a new round.
+    // The camera orbit is left where the player had it.
+    public void reset(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+        tickCount = 0;
+        lastSpawnTick = 0;
+        spawnBudget = 0;
+        points = 0;
+        spawnCount = 0;
+        gameOver = false;
+        world.movingCubes.clear();
+        respawnPlayer();
+    }
+
+    // Puts the player back on the platform and clears game over, leaving the cubes in play
+    public void respawnPlayer() {
+        gameOver = false;
+        player.setX(0);
+        player.setY(world.platform.getY() + world.platform.height / 2f + Player.SIZE / 2f);
+        player.setZ(0);
+        player.setVelocityY(0);
+        player.storePreviousPosition();
+    }
+
+    // Advances the game by one fixed tick
+    public void tick(TickInput input) {
+        tickCount++;
+
+        // Remember where everything was so the renderer can interpolate toward this tick
+        player.storePreviousPosition();
+        world.movingCubes.storePreviousPositions();
+
+        long t = stats != null ? System.nanoTime() : 0;
+        handleCameraInput(input);
+        t = lap(FrameStats.Phase.INPUT, t);
+        handlePlayerInput(input);
+        t = lap(FrameStats.Phase.PLAYER, t);
+        handlePhysicsAndCollision();
+        t = lap(FrameStats.Phase.PHYSICS, t);
+        spawnCubes();
+        t = lap(FrameStats.Phase.SPAWN, t);
+        world.movingCubes.integrate();
+        t = lap(FrameStats.Phase.INTEGRATE, t);
+        despawnCubes();
+        lap(FrameStats.Phase.DESPAWN, t);
+    }
+
+    // Records the time since start against phase and returns the new start (no-op without stats)
+    private long lap(FrameStats.Phase phase, long start) {
+        if (stats == null) return 0;
+        long now = System.nanoTime();
+        stats.record(phase, now - start);
+        return now;
+    }
+
+    private void spawnCubes() {
+        if (spawnRateOverride > 0) {
+            spawnBudget += spawnRateOverride / TICKS_PER_SECOND;
+            while (spawnBudget >= 1) {
+                spawnBudget--;
+                spawnCube();
+            }
+            return;
+        }
+        long dynamicSpawnInterval = Math.max((long)(spawnInterval / getDifficultyMultiplier()), 300); // never faster than 300ms
+        if ((tickCount - lastSpawnTick) * MILLIS_PER_TICK > dynamicSpawnInterval) {
+            lastSpawnTick = tickCount;
+            spawnCube();
+        }
+    }
+
+    private void spawnCube() {
+        spawnCount++;
+        // Spawn a red cube far away, at platform height
+        float dist = 1200f + random.nextFloat() * 400f;
+        int dir = random.nextInt(4);
+        float defaultY = world.platform.getY() + world.platform.height / 2f + 20;
+        float bias = random.nextFloat();
+        float yOffset = -bias * bias * 200f; // More likely negative, range [-200, 0]
+        float y = Math.max(defaultY, defaultY + yOffset); // Clamp so y is never below defaultY
+        float x = 0, z = 0, vx = 0, vz = 0;
+        float xOffset = (random.nextFloat() - 0.5f) * 200f; // random X offset
+        float zOffset = (random.nextFloat() - 0.5f) * 200f; // random Z offset
+        float speed = (2f + random.nextFloat() * 2f) * getDifficultyMultiplier();
+        switch (dir) {
+            case 0: x = dist + xOffset; z = zOffset; vx = -speed; break;
+            case 1: x = -dist + xOffset; z = zOffset; vx = speed; break;
+            case 2: x = xOffset; z = dist + zOffset; vz = -speed; break;
+            case 3: x = xOffset; z = -dist + zOffset; vz = speed; break;
+        }
+        // Grow a chain of adjacent cubes from this one; they travel together as one cluster
+        clusterBuilder.reset();
+        clusterBuilder.add(0, 0, 0);
+        // Probability increases with spawnCount, capped at 90%
+        float probability = Math.min(0.25f + 0.01f * spawnCount, 0.9f);
+        if (random.nextFloat() < probability) {
+            // -1 means no forbidden axis/sign for the first call
+            trySpawnAdjacentCube(0, 0, 0, y, probability, -1, 0f);
+        }
+        world.movingCubes.add(x + clusterBuilder.getCenterOffsetX(), y + clusterBuilder.getCenterOffsetY(),
+            z + clusterBuilder.getCenterOffsetZ(), vx, vz, CUBE_COLOR, clusterBuilder.build());
+    }
+
+    // Hash of the score, tick count, player and every cube, for checking that two runs match
+    public long stateChecksum() {
+        long h = 17;
+        h = h * 31 + tickCount;
+        h = h * 31 + points;
+        h = h * 31 + (gameOver ? 1 : 0);
+        h = h * 31 + Float.floatToIntBits(player.getX());
+        h = h * 31 + Float.floatToIntBits(player.getY());
+        h = h * 31 + Float.floatToIntBits(player.getZ());
+        h = h * 31 + Float.floatToIntBits(player.getVelocityY());
+        CubeStore cubes = world.movingCubes;
+        h = h * 31 + cubes.size();
+        h = h * 31 + cubes.getVoxelCount();
+        for (int i = 0; i < cubes.size(); i++) {
+            h = h * 31 + Float.floatToIntBits(cubes.getX(i));
+            h = h * 31 + Float.floatToIntBits(cubes.getY(i));
+            h = h * 31 + Float.floatToIntBits(cubes.getZ(i));
+        }
+        return h;
+    }
+
+    private void despawnCubes() {
+        CubeStore cubes = world.movingCubes;
+
+        // Despawn cubes that are far from the platform (e.g., 1500 units from platform center)
+        float platformX = world.platform.getX();
+        float platformY = world.platform.getY();
+        float platformZ = world.platform.getZ();
+        float despawnDistance = 1500f;
+
+        // Only despawns clusters that have passed the platform (moving away from it)
+        int despawned = cubes.despawnPassed(platformX, platformY, platformZ, despawnDistance);
+        points += despawned; // <-- Increment points by the number of cubes despawned
+    }
+
+    // Adds a voxel next to (gx, gy, gz) in clusterBuilder, whose voxel (0, 0, 0) sits at world height baseY
+    private void trySpawnAdjacentCube(int gx, int gy, int gz, float baseY, float probability, int forbiddenAxis, float forbiddenSign) {
+        // Try up to 6 times to find a valid direction
+        for (int attempt = 0; attempt < 6; attempt++) {
+            int axis = random.nextInt(3);
+            float sign = random.nextBoolean() ? 1f : -1f;
+
+            // Prevent spawning back toward the parent cube
+            if (axis == forbiddenAxis && sign == -forbiddenSign) continue;
+
+            int adjX = gx, adjY = gy, adjZ = gz;
+            if (axis == 0) adjX += (int) sign;
+            else if (axis == 1) adjY += (int) sign;
+            else adjZ += (int) sign;
+
+            // Prevent spawning below the platform
+            float platformTop = world.platform.getY() + world.platform.height / 2f;
+            float minY = platformTop + 20f; // 20 = half cube size
+            if (baseY + adjY * CubeStore.SIZE < minY) continue;
+
+            // A voxel that is already filled, or one that would make the cluster too big, is blocked too
+            if (!clusterBuilder.add(adjX, adjY, adjZ)) continue;
+
+            // Recursively try to spawn another adjacent cube (with the same probability)
+            if (random.nextFloat() < probability) {
+                trySpawnAdjacentCube(adjX, adjY, adjZ, baseY, probability, axis, sign);
+            }
+            break; // Only spawn one adjacent cube per call
+        }
+    }
+
+    private void handleCameraInput(TickInput input) {
+        // Mouse look, gathered since the previous tick
+        camera.orbitYaw += input.getMouseDX() * 0.5f;
+        camera.orbitPitch -= input.getMouseDY() * 0.5f;
+
+        float rotSpeed = 2f;
+        if (input.isDown(TickInput.LEFT)) camera.orbitYaw -= rotSpeed;
+        if (input.isDown(TickInput.RIGHT)) camera.orbitYaw += rotSpeed;
+        if (input.isDown(TickInput.UP)) camera.orbitPitch -= rotSpeed;
+        if (input.isDown(TickInput.DOWN)) camera.orbitPitch += rotSpeed;
+        if (camera.orbitPitch < -89) camera.orbitPitch = -89;
+        if (camera.orbitPitch > 89) camera.orbitPitch = 89;
+    }
+
+    private void handlePlayerInput(TickInput input) {
+        float moveSpeed = 5f * getDifficultyMultiplier();
+        float yawRad = (float)Math.toRadians(camera.orbitYaw);
+        float forwardX = -(float)Math.sin(yawRad);
+        float forwardZ = -(float)Math.cos(yawRad);
+        float rightX = (float)-Math.cos(yawRad);
+        float rightZ = (float)Math.sin(yawRad);
+
+        float px = player.getX();
+        float pz = player.getZ();
+
+        if (input.isDown(TickInput.W)) {
+            px += forwardX * moveSpeed;
+            pz += forwardZ * moveSpeed;
+        }
+        if (input.isDown(TickInput.S)) {
+            px -= forwardX * moveSpeed;
+            pz -= forwardZ * moveSpeed;
+        }
+        if (input.isDown(TickInput.A)) {
+            px -= rightX * moveSpeed;
+            pz -= rightZ * moveSpeed;
+        }
+        if (input.isDown(TickInput.D)) {
+            px += rightX * moveSpeed;
+            pz += rightZ * moveSpeed;
+        }
+        player.setX(px);
+        player.setZ(pz);
+
+        // Jumping
+        float playerBottomY = player.getY() - player.getHalfSize();
+        float prismTop = world.platform.getY() + world.platform.height / 2f;
+        boolean onPrismXZ = px >= world.platform.getX() - world.platform.width / 2f &&
+                            px <= world.platform.getX() + world.platform.width / 2f &&
+                            pz >= world.platform.getZ() - world.platform.depth / 2f &&
+                            pz <= world.platform.getZ() + world.platform.depth / 2f;
+        boolean onGround = Math.abs(playerBottomY - world.groundY) < 0.01f;
+        boolean onPrism = onPrismXZ && Math.abs(playerBottomY - prismTop) < 0.01f;
+
+        // New: Check if standing on top of any cube
+        boolean onCube = false;
+        queryCubesNearPlayer(px, pz, px, pz, 0f);
+        for (int k = 0; k < nearbyCubes.size() && !onCube; k++) {
+            onCube = isStandingOnCluster(nearbyCubes.get(k), px, pz, playerBottomY);
+        }
+
+        if (input.isDown(TickInput.SPACE) && (onGround || onPrism || onCube)) {
+            player.setVelocityY(15f * getDifficultyMultiplier());
+        }
+    }
+
+    private void handlePhysicsAndCollision() {
+        float gravity = -0.98f * getDifficultyMultiplier();
+        float py = player.getY();
+        player.addVelocityY(gravity);
+        py += player.getVelocityY();
+
+        float playerHalfSize = player.getHalfSize();
+        float playerBottomY = py - playerHalfSize;
+        float prismTop = world.platform.getY() + world.platform.height / 2f;
+        float prismMinX = world.platform.getX() - world.platform.width / 2f;
+        float prismMaxX = world.platform.getX() + world.platform.width / 2f;
+        float prismMinZ = world.platform.getZ() - world.platform.depth / 2f;
+        float prismMaxZ = world.platform.getZ() + world.platform.depth / 2f;
+        float px = player.getX();
+        float pz = player.getZ();
+        boolean onPrismXZ = px >= prismMinX && px <= prismMaxX && pz >= prismMinZ && pz <= prismMaxZ;
+
+        // Land on the platform, also when falling fast enough to cross its top within one tick
+        float previousBottomY = player.getPreviousY() - playerHalfSize;
+        if (onPrismXZ && playerBottomY < prismTop && (playerBottomY > prismTop - 50 || previousBottomY >= prismTop) &&
+            player.getVelocityY() <= 0) {
+            py = prismTop + player.getHalfSize(); // <-- This ensures the cube sits on top visually
+            player.setVelocityY(0);
+        }
+        // Land on the ground
+        if ((!onPrismXZ) && playerBottomY < world.groundY) {
+            gameOver = true;
+            return;
+        }
+        player.setY(py);
+
+        // Pushes below can move the player up to a cube's half size, so pad the query by that.
+        // Sweeps look back along this tick's move, during which clusters moved too.
+        float startX = player.getPreviousX(), startZ = player.getPreviousZ();
+        queryCubesNearPlayer(Math.min(startX, px), Math.min(startZ, pz), Math.max(startX, px), Math.max(startZ, pz),
+            20f + MAX_CUBE_SPEED);
+        for (int k = 0; k < nearbyCubes.size(); k++) {
+            collideWithCluster(nearbyCubes.get(k));
+        }
+    }
+
+    // Tests the player against the cluster's bounding box, then against the voxels it touches
+    private void collideWithCluster(int cluster) {
+        CubeStore cubes = world.movingCubes;
+        VoxelShape shape = cubes.getShape(cluster);
+        float minX = cubes.getX(cluster) - shape.getHalfWidth();
+        float minY = cubes.getY(cluster) - shape.getHalfHeight();
+        float minZ = cubes.getZ(cluster) - shape.getHalfDepth();
+
+        // This tick's move relative to the cluster: the player's own move minus the cluster's
+        float rx = player.getX() - player.getPreviousX() - cubes.getVelocityX(cluster);
+        float ry = player.getY() - player.getPreviousY();
+        float rz = player.getZ() - player.getPreviousZ() - cubes.getVelocityZ(cluster);
+        if (Math.abs(rx) > SWEEP_THRESHOLD || Math.abs(ry) > SWEEP_THRESHOLD || Math.abs(rz) > SWEEP_THRESHOLD) {
+            sweepAgainstCluster(shape, minX, minY, minZ, rx, ry, rz);
+        }
+
+        float playerHalf = player.getHalfSize();
+        float px = player.getX(), py = player.getY(), pz = player.getZ();
+        if (px + playerHalf <= minX || px - playerHalf >= minX + 2 * shape.getHalfWidth() ||
+            py + playerHalf <= minY || py - playerHalf >= minY + 2 * shape.getHalfHeight() ||
+            pz + playerHalf <= minZ || pz - playerHalf >= minZ + 2 * shape.getHalfDepth()) {
+            return;
+        }
+
+        // Voxel range under the player's box (it is smaller than a voxel, so at most 2 each way)
+        int x0 = voxelIndex(px - playerHalf - minX, shape.getSizeX());
+        int x1 = voxelIndex(px + playerHalf - minX, shape.getSizeX());
+        int y0 = voxelIndex(py - playerHalf - minY, shape.getSizeY());
+        int y1 = voxelIndex(py + playerHalf - minY, shape.getSizeY());
+        int z0 = voxelIndex(pz - playerHalf - minZ, shape.getSizeZ());
+        int z1 = voxelIndex(pz + playerHalf - minZ, shape.getSizeZ());
+        for (int gy = y0; gy <= y1; gy++) {
+            for (int gz = z0; gz <= z1; gz++) {
+                for (int gx = x0; gx <= x1; gx++) {
+                    if (!shape.isOccupied(gx, gy, gz)) continue;
+                    collideWithVoxel(shape, gx, gy, gz,
+                        minX + (gx + 0.5f) * CubeStore.SIZE,
+                        minY + (gy + 0.5f) * CubeStore.SIZE,
+                        minZ + (gz + 0.5f) * CubeStore.SIZE);
+                }
+            }
+        }
+    }
+
+    // Pushes the player out of one voxel along the axis of least penetration. Faces shared with
+    // a filled neighbour are inside the cluster, so the player is never pushed out through them.
+    private void collideWithVoxel(VoxelShape shape, int gx, int gy, int gz, float cubeX, float cubeY, float cubeZ) {
+        float playerHalf = player.getHalfSize();
+        float cubeHalf = CubeStore.HALF_SIZE;
+
+        // Player bounds
+        float pxMin = player.getX() - playerHalf;
+        float pxMax = player.getX() + playerHalf;
+        float pyMin = player.getY() - playerHalf;
+        float pyMax = player.getY() + playerHalf;
+        float pzMin = player.getZ() - playerHalf;
+        float pzMax = player.getZ() + playerHalf;
+
+        // Cube bounds
+        float cxMin = cubeX - cubeHalf;
+        float cxMax = cubeX + cubeHalf;
+        float cyMin = cubeY - cubeHalf;
+        float cyMax = cubeY + cubeHalf;
+        float czMin = cubeZ - cubeHalf;
+        float czMax = cubeZ + cubeHalf;
+
+        // Check for overlap in all 3 axes
+        boolean overlapX = pxMax > cxMin && pxMin < cxMax;
+        boolean overlapY = pyMax > cyMin && pyMin < cyMax;
+        boolean overlapZ = pzMax > czMin && pzMin < czMax;
+        if (!(overlapX && overlapY && overlapZ)) return;
+
+        // Which way the player would leave along each axis, and whether that face is open
+        boolean belowX = player.getX() < cubeX;
+        boolean belowY = player.getY() < cubeY;
+        boolean belowZ = player.getZ() < cubeZ;
+        boolean openX = !shape.isOccupied(belowX ? gx - 1 : gx + 1, gy, gz);
+        boolean openY = !shape.isOccupied(gx, belowY ? gy - 1 : gy + 1, gz);
+        boolean openZ = !shape.isOccupied(gx, gy, belowZ ? gz - 1 : gz + 1);
+        if (!openX && !openY && !openZ) return; // buried inside the cluster, leave it to the outer voxels
+
+        // Calculate overlap on each axis, ignoring closed faces
+        float overlapXDepth = openX ? Math.min(pxMax, cxMax) - Math.max(pxMin, cxMin) : Float.MAX_VALUE;
+        float overlapYDepth = openY ? Math.min(pyMax, cyMax) - Math.max(pyMin, cyMin) : Float.MAX_VALUE;
+        float overlapZDepth = openZ ? Math.min(pzMax, czMax) - Math.max(pzMin, czMin) : Float.MAX_VALUE;
+
+        // Push player out along the axis of minimum penetration
+        if (overlapXDepth <= overlapYDepth && overlapXDepth <= overlapZDepth) { // X axis
+            player.setX(belowX ? cxMin - playerHalf : cxMax + playerHalf);
+        } else if (overlapYDepth <= overlapZDepth) { // Y axis
+            if (belowY) {
+                // Player is below cube, prevent moving up into it
+                player.setY(cyMin - playerHalf);
+                // Only zero velocity if moving up into the cube
+                if (player.getVelocityY() > 0) {
+                    player.setVelocityY(0);
+                }
+            } else {
+                // Player is above cube, land on top
+                player.setY(cyMax + playerHalf);
+                // Only zero velocity if falling onto the cube
+                if (player.getVelocityY() < 0) {
+                    player.setVelocityY(0);
+                }
+            }
+        } else { // Z axis
+            player.setZ(belowZ ? czMin - playerHalf : czMax + playerHalf);
+        }
+    }
+
+    // Continuous collision for fast relative moves. In the cluster's frame the player's box
+    // travels from its current position minus (rx, ry, rz) to its current position; each pass
+    // finds the first open voxel face the box would cross (slab test against the voxel grown by
+    // the player's half size), stops the player there on that axis and keeps the rest of the
+    // move on the others, so a second and third pass can catch the next face along the slide.
+    // Starts that already overlap a voxel are left to collideWithVoxel.
+    private void sweepAgainstCluster(VoxelShape shape, float minX, float minY, float minZ,
+                                     float rx, float ry, float rz) {
+        float playerHalf = player.getHalfSize();
+        float reach = playerHalf + CubeStore.HALF_SIZE;
+        float[] start = sweepStart, move = sweepMove, voxel = sweepVoxel, clusterMin = sweepClusterMin;
+        int[] size = sweepSize, lo = sweepLo, hi = sweepHi;
+        start[0] = player.getX() - rx;
+        start[1] = player.getY() - ry;
+        start[2] = player.getZ() - rz;
+        clusterMin[0] = minX; clusterMin[1] = minY; clusterMin[2] = minZ;
+        size[0] = shape.getSizeX(); size[1] = shape.getSizeY(); size[2] = shape.getSizeZ();
+        for (int pass = 0; pass < 3; pass++) {
+            move[0] = player.getX() - start[0];
+            move[1] = player.getY() - start[1];
+            move[2] = player.getZ() - start[2];
+
+            // Voxels the swept box can reach
+            boolean missesCluster = false;
+            for (int k = 0; k < 3; k++) {
+                float from = Math.min(start[k], start[k] + move[k]) - playerHalf - clusterMin[k];
+                float to = Math.max(start[k], start[k] + move[k]) + playerHalf - clusterMin[k];
+                if (to <= 0 || from >= size[k] * CubeStore.SIZE) missesCluster = true;
+                lo[k] = voxelIndex(from, size[k]);
+                hi[k] = voxelIndex(to, size[k]);
+            }
+            if (missesCluster) return;
+
+            float firstHit = 1f;
+            int hitAxis = -1;
+            float hitFace = 0;
+            for (int gy = lo[1]; gy <= hi[1]; gy++) {
+                for (int gz = lo[2]; gz <= hi[2]; gz++) {
+                    for (int gx = lo[0]; gx <= hi[0]; gx++) {
+                        if (!shape.isOccupied(gx, gy, gz)) continue;
+                        voxel[0] = minX + (gx + 0.5f) * CubeStore.SIZE;
+                        voxel[1] = minY + (gy + 0.5f) * CubeStore.SIZE;
+                        voxel[2] = minZ + (gz + 0.5f) * CubeStore.SIZE;
+                        float enter = Float.NEGATIVE_INFINITY, exit = Float.POSITIVE_INFINITY;
+                        int enterAxis = -1;
+                        for (int k = 0; k < 3 && enter < exit; k++) {
+                            float offset = voxel[k] - start[k];
+                            if (move[k] == 0) {
+                                if (Math.abs(offset) >= reach) exit = Float.NEGATIVE_INFINITY;
+                                continue;
+                            }
+                            float near = (offset - Math.signum(move[k]) * reach) / move[k];
+                            float far = (offset + Math.signum(move[k]) * reach) / move[k];
+                            if (near > enter) {
+                                enter = near;
+                                enterAxis = k;
+                            }
+                            exit = Math.min(exit, far);
+                        }
+                        if (enterAxis < 0 || enter >= exit || enter < 0 || enter >= firstHit) continue;
+                        // The face crossed must be on the cluster's surface, not shared with a neighbour
+                        int step = move[enterAxis] > 0 ? -1 : 1;
+                        boolean open = !shape.isOccupied(
+                            gx + (enterAxis == 0 ? step : 0), gy + (enterAxis == 1 ? step : 0), gz + (enterAxis == 2 ? step : 0));
+                        if (!open) continue;
+                        firstHit = enter;
+                        hitAxis = enterAxis;
+                        hitFace = voxel[enterAxis] + step * reach;
+                    }
+                }
+            }
+            if (hitAxis < 0) return;
+
+            // Stop on the face; the other axes keep their full move
+            if (hitAxis == 0) {
+                player.setX(hitFace);
+            } else if (hitAxis == 1) {
+                player.setY(hitFace);
+                // Landing on top stops a fall, hitting the underside stops a jump
+                if ((move[1] < 0 && player.getVelocityY() < 0) || (move[1] > 0 && player.getVelocityY() > 0)) {
+                    player.setVelocityY(0);
+                }
+            } else {
+                player.setZ(hitFace);
+            }
+        }
+    }
+
+    // True if the point (px, pz) at height bottomY rests on top of one of the cluster's voxels.
+    // Edges count, as for a lone cube.
+    private boolean isStandingOnCluster(int cluster, float px, float pz, float bottomY) {
+        CubeStore cubes = world.movingCubes;
+        VoxelShape shape = cubes.getShape(cluster);
+        float minX = cubes.getX(cluster) - shape.getHalfWidth();
+        float minY = cubes.getY(cluster) - shape.getHalfHeight();
+        float minZ = cubes.getZ(cluster) - shape.getHalfDepth();
+        float fx = (px - minX) / CubeStore.SIZE;
+        float fz = (pz - minZ) / CubeStore.SIZE;
+        if (fx < 0 || fz < 0 || fx > shape.getSizeX() || fz > shape.getSizeZ()) return false;
+        // Voxel layer whose top face is at bottomY, if any
+        int gy = Math.round((bottomY - minY) / CubeStore.SIZE) - 1;
+        if (gy < 0 || gy >= shape.getSizeY()) return false;
+        if (Math.abs(bottomY - (minY + (gy + 1) * CubeStore.SIZE)) >= 0.01f) return false;
+        // On a seam between two columns both count
+        for (int gx = (int) Math.ceil(fx) - 1; gx <= (int) fx; gx++) {
+            for (int gz = (int) Math.ceil(fz) - 1; gz <= (int) fz; gz++) {
+                if (shape.isOccupied(gx, gy, gz)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static int voxelIndex(float offset, int size) {
+        int i = (int) Math.floor(offset / CubeStore.SIZE);
+        return Math.max(0, Math.min(size - 1, i));
+    }
+
+    // Fills nearbyCubes with every cluster whose footprint can touch the player's anywhere in the
+    // given XZ range of player positions, plus margin
+    private void queryCubesNearPlayer(float minX, float minZ, float maxX, float maxZ, float margin) {
+        float reach = player.getHalfSize() + CubeStore.MAX_HALF_EXTENT + margin;
+        world.movingCubes.queryXZ(minX - reach, minZ - reach, maxX + reach, maxZ + reach, nearbyCubes);
+    }
+
+    private float getDifficultyMultiplier() {
+        // Increases by 1% per spawn, capped at 3x speed
+        return Math.min(1f + 0.01f * spawnCount, 3f);
+    }
+}
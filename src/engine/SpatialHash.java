@@ -0,0 +1,132 @@
+package engine;
+
+import utils.IntList;
+import utils.LongObjectMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// Uniform grid over the XZ plane, indexing objects by integer id at their center point.
+// Objects are only re-bucketed when they cross into a different cell. Cells are keyed by
+// primitive longs and emptied cell lists are kept for reuse, so moving objects around a
+// warmed-up hash allocates nothing.
+public class SpatialHash {
+    private static final long NO_CELL = Long.MIN_VALUE;
+
+    private final float cellSize;
+    private final LongObjectMap<IntList> cells = new LongObjectMap<>(256);
+    private final ArrayList<IntList> spareCells = new ArrayList<>();
+    private long[] cellOf = new long[64]; // id -> packed cell, NO_CELL when not indexed
+    private int size;
+
+    public SpatialHash(float cellSize) {
+        this.cellSize = cellSize;
+        Arrays.fill(cellOf, NO_CELL);
+    }
+
+    public void insert(int id, float x, float z) {
+        ensureId(id);
+        long key = keyFor(x, z);
+        cellOf[id] = key;
+        cellFor(key).add(id);
+        size++;
+    }
+
+    public void remove(int id) {
+        if (id >= cellOf.length || cellOf[id] == NO_CELL) return;
+        removeFromCell(cellOf[id], id);
+        cellOf[id] = NO_CELL;
+        size--;
+    }
+
+    // Call after the object moved; cheap when it stays in the same cell
+    public void update(int id, float x, float z) {
+        if (id >= cellOf.length || cellOf[id] == NO_CELL) {
+            insert(id, x, z);
+            return;
+        }
+        long newKey = keyFor(x, z);
+        long oldKey = cellOf[id];
+        if (oldKey != newKey) {
+            removeFromCell(oldKey, id);
+            cellOf[id] = newKey;
+            cellFor(newKey).add(id);
+        }
+    }
+
+    // True if update(id, x, z) would move the object to another cell. Only reads, so it is safe
+    // to call from several threads while nobody is modifying the hash.
+    public boolean needsUpdate(int id, float x, float z) {
+        return id >= cellOf.length || cellOf[id] == NO_CELL || cellOf[id] != keyFor(x, z);
+    }
+
+    public void clear() {
+        cells.forEachValue(this::recycle);
+        cells.clear();
+        Arrays.fill(cellOf, NO_CELL);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Collects the id of every object whose center lies in a cell touching the given XZ rectangle.
+    // Callers should pad the rectangle by the objects' half size.
+    public void query(float minX, float minZ, float maxX, float maxZ, IntList out) {
+        out.clear();
+        int minCX = cellCoord(minX);
+        int maxCX = cellCoord(maxX);
+        int minCZ = cellCoord(minZ);
+        int maxCZ = cellCoord(maxZ);
+        for (int cx = minCX; cx <= maxCX; cx++) {
+            for (int cz = minCZ; cz <= maxCZ; cz++) {
+                IntList cell = cells.get(pack(cx, cz));
+                if (cell != null) out.addAll(cell);
+            }
+        }
+    }
+
+    private void ensureId(int id) {
+        if (id >= cellOf.length) {
+            int oldLength = cellOf.length;
+            cellOf = Arrays.copyOf(cellOf, Math.max(id + 1, oldLength * 2));
+            Arrays.fill(cellOf, oldLength, cellOf.length, NO_CELL);
+        }
+    }
+
+    private void removeFromCell(long key, int id) {
+        IntList cell = cells.get(key);
+        if (cell == null) return;
+        // Order inside a cell doesn't matter, so swap-remove
+        int i = cell.indexOf(id);
+        if (i >= 0) cell.swapRemove(i);
+        if (cell.isEmpty()) recycle(cells.remove(key));
+    }
+
+    private IntList cellFor(long key) {
+        IntList cell = cells.get(key);
+        if (cell == null) {
+            cell = spareCells.isEmpty() ? new IntList(4) : spareCells.remove(spareCells.size() - 1);
+            cells.put(key, cell);
+        }
+        return cell;
+    }
+
+    private void recycle(IntList cell) {
+        cell.clear();
+        spareCells.add(cell);
+    }
+
+    private int cellCoord(float v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private long keyFor(float x, float z) {
+        return pack(cellCoord(x), cellCoord(z));
+    }
+
+    private static long pack(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xffffffffL);
+    }
+}
@@ -0,0 +1,96 @@
+package engine;
+
+import java.util.concurrent.ForkJoinPool;
+
+import input.TickInput;
+
+// Endless headless stress run: spawns cubes at a fixed rate until tens of thousands are in
+// flight, respawning the player instead of ending the game, and reports simulation ticks/s for
+// each worker count. Usage: StressRunner [cubesPerSecond] [ticks] [threads...]
+// The rate counts spawns; each spawn is a cluster of chained cubes. At the default 900/s the
+// store settles near 5k clusters holding about 50k cubes. Runs with more than one thread always
+// take CubeStore's ForkJoin path, whatever the cluster count; each line says which path ran.
+// Their final state must match a serial run of the same seed, or the runner exits with status 1.
+public class StressRunner {
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        float rate = args.length > 0 ? Float.parseFloat(args[0]) : 900f;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 1200;
+        int[] threads;
+        if (args.length > 2) {
+            threads = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++) threads[i - 2] = Integer.parseInt(args[i]);
+        } else {
+            int cores = Runtime.getRuntime().availableProcessors();
+            threads = new int[32 - Integer.numberOfLeadingZeros(cores)];
+            for (int i = 0; i < threads.length; i++) threads[i] = Math.min(1 << i, cores);
+        }
+
+        // Every parallel run has to end in the same state as the serial one
+        Long serialState = null;
+        boolean matched = true;
+        for (int t : threads) {
+            if (t > 1 && serialState == null) serialState = measure(rate, ticks, 1, false);
+            long state = measure(rate, ticks, t, true);
+            if (t <= 1) {
+                serialState = state;
+            } else if (state != serialState) {
+                System.out.printf("threads %2d: STATE DIFFERS from the serial run (%016x)%n", t, serialState);
+                matched = false;
+            }
+        }
+        if (!matched) System.exit(1);
+    }
+
+    // Runs a fresh stress simulation on t workers and returns its final stateChecksum(),
+    // printing the timings if report is set
+    private static long measure(float rate, int ticks, int t, boolean report) {
+        Simulation simulation = new Simulation(SEED);
+        simulation.setSpawnRateOverride(rate);
+        CubeStore cubes = simulation.getWorld().movingCubes;
+        ForkJoinPool pool = t > 1 ? new ForkJoinPool(t) : null;
+        if (pool != null) {
+            cubes.setPool(pool);
+            // The default threshold is tuned for play and sits above what modest rates
+            // reach; with workers to spare, always take the pool path
+            cubes.setParallelThreshold(0);
+        } else {
+            cubes.setParallelThreshold(Integer.MAX_VALUE);
+        }
+
+        TickInput input = new TickInput(); // nobody at the keys
+        // Let the cube count reach its steady state before timing
+        long[] totals = new long[2];
+        run(simulation, input, 900, totals);
+        totals[0] = totals[1] = 0;
+        long parallelBefore = cubes.getParallelPasses();
+        long start = System.nanoTime();
+        run(simulation, input, ticks, totals);
+        long elapsed = System.nanoTime() - start;
+        if (pool != null) pool.shutdown();
+        long state = simulation.stateChecksum();
+        if (!report) return state;
+
+        // Two passes a tick: integrate and despawn
+        long parallel = cubes.getParallelPasses() - parallelBefore;
+        String path = parallel == 0 ? "serial" : String.format("parallel %d/%d passes", parallel, 2L * ticks);
+        // Clusters are what gets integrated; cubes are the voxels they are made of
+        System.out.printf("threads %2d: %7.0f ticks/s, %6.0f clusters (%6.0f cubes) on average, %.1f M cluster updates/s, %s, state %016x%n",
+            t, ticks / (elapsed / 1e9), totals[0] / (double) ticks, totals[1] / (double) ticks,
+            totals[0] / (elapsed / 1e3), path, state);
+        return state;
+    }
+
+    // Ticks the simulation, respawning the player whenever it falls; adds the cluster and cube
+    // counts of every tick to totals[0] and totals[1]
+    private static void run(Simulation simulation, TickInput input, int ticks, long[] totals) {
+        CubeStore cubes = simulation.getWorld().movingCubes;
+        for (int i = 0; i < ticks; i++) {
+            simulation.tick(input);
+            if (simulation.isGameOver()) simulation.respawnPlayer();
+            totals[0] += cubes.size();
+            totals[1] += cubes.getVoxelCount();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package engine;
+
+import java.util.Arrays;
+
+// The rigid shape of a cube cluster: which cells of a small voxel grid are filled, as an
+// occupancy bitmask. Voxel (x, y, z) is bit (y * sizeZ + z) * sizeX + x. Shapes are immutable
+// and shared, so clusters moving as one unit only carry a position and a reference.
+public final class VoxelShape {
+    // Largest cluster extent along any axis, in voxels; keeps masks at 512 bits and bounds
+    // how far a cluster can reach from the center the spatial index files it under
+    public static final int MAX_EXTENT = 8;
+
+    public static final VoxelShape SINGLE = new VoxelShape(1, 1, 1, new long[] {1L});
+
+    private final int sizeX, sizeY, sizeZ;
+    private final long[] bits;
+    private final int voxelCount;
+    private final float boundingRadius;
+
+    private VoxelShape(int sizeX, int sizeY, int sizeZ, long[] bits) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.bits = bits;
+        int count = 0;
+        for (long word : bits) count += Long.bitCount(word);
+        this.voxelCount = count;
+        float hx = sizeX * CubeStore.HALF_SIZE, hy = sizeY * CubeStore.HALF_SIZE, hz = sizeZ * CubeStore.HALF_SIZE;
+        this.boundingRadius = (float) Math.sqrt(hx * hx + hy * hy + hz * hz);
+    }
+
+    public int getSizeX() { return sizeX; }
+    public int getSizeY() { return sizeY; }
+    public int getSizeZ() { return sizeZ; }
+    public int getVoxelCount() { return voxelCount; }
+
+    // Half the cluster's bounding box along each axis, in world units
+    public float getHalfWidth() { return sizeX * CubeStore.HALF_SIZE; }
+    public float getHalfHeight() { return sizeY * CubeStore.HALF_SIZE; }
+    public float getHalfDepth() { return sizeZ * CubeStore.HALF_SIZE; }
+
+    // Radius of the sphere around the bounding box, for frustum culling
+    public float getBoundingRadius() { return boundingRadius; }
+
+    // False for cells outside the grid, so callers can probe neighbours without bounds checks
+    public boolean isOccupied(int x, int y, int z) {
+        if (x < 0 || y < 0 || z < 0 || x >= sizeX || y >= sizeY || z >= sizeZ) return false;
+        int bit = (y * sizeZ + z) * sizeX + x;
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    // Collects voxels in coordinates relative to the first one, then packs them into a shape.
+    // Reusable: call reset() before each cluster.
+    public static final class Builder {
+        private int[] cells = new int[3 * 16];
+        private int count;
+        private int minX, minY, minZ, maxX, maxY, maxZ;
+
+        public void reset() {
+            count = 0;
+        }
+
+        // Adds a voxel, or returns false if it is already filled or would stretch the cluster
+        // past MAX_EXTENT along some axis
+        public boolean add(int x, int y, int z) {
+            if (count == 0) {
+                minX = maxX = x;
+                minY = maxY = y;
+                minZ = maxZ = z;
+            } else {
+                if (Math.max(maxX, x) - Math.min(minX, x) >= MAX_EXTENT) return false;
+                if (Math.max(maxY, y) - Math.min(minY, y) >= MAX_EXTENT) return false;
+                if (Math.max(maxZ, z) - Math.min(minZ, z) >= MAX_EXTENT) return false;
+                if (contains(x, y, z)) return false;
+                minX = Math.min(minX, x); maxX = Math.max(maxX, x);
+                minY = Math.min(minY, y); maxY = Math.max(maxY, y);
+                minZ = Math.min(minZ, z); maxZ = Math.max(maxZ, z);
+            }
+            if (3 * count + 3 > cells.length) cells = Arrays.copyOf(cells, cells.length * 2);
+            cells[3 * count] = x;
+            cells[3 * count + 1] = y;
+            cells[3 * count + 2] = z;
+            count++;
+            return true;
+        }
+
+        public boolean contains(int x, int y, int z) {
+            for (int i = 0; i < count; i++) {
+                if (cells[3 * i] == x && cells[3 * i + 1] == y && cells[3 * i + 2] == z) return true;
+            }
+            return false;
+        }
+
+        // Offset from the first voxel's center to the center of the bounding box, in world units
+        public float getCenterOffsetX() { return (minX + maxX) * CubeStore.HALF_SIZE; }
+        public float getCenterOffsetY() { return (minY + maxY) * CubeStore.HALF_SIZE; }
+        public float getCenterOffsetZ() { return (minZ + maxZ) * CubeStore.HALF_SIZE; }
+
+        public VoxelShape build() {
+            if (count == 0) throw new IllegalStateException("no voxels added");
+            if (count == 1) return SINGLE;
+            int sx = maxX - minX + 1, sy = maxY - minY + 1, sz = maxZ - minZ + 1;
+            long[] bits = new long[(sx * sy * sz + 63) >>> 6];
+            for (int i = 0; i < count; i++) {
+                int bit = ((cells[3 * i + 1] - minY) * sz + (cells[3 * i + 2] - minZ)) * sx + (cells[3 * i] - minX);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+            return new VoxelShape(sx, sy, sz, bits);
+        }
+    }
+}
@@ -2,15 +2,14 @@ package engine;
 
 import objects.GameObject;
 import objects.RectangularPrismWithWireframe;
-import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
 
 public class World {
     public final float groundY = 0f;
     public final RectangularPrismWithWireframe platform =
-        new RectangularPrismWithWireframe(0, 300f, 0, 240, 40, 240, Color.GREEN);
+        new RectangularPrismWithWireframe(0, 300f, 0, 240, 40, 240, 0xFF00FF00); // green
 
-    public final List<GameObject> movingCubes = new ArrayList<>();
+    public final CubeStore movingCubes = new CubeStore();
     public final List<GameObject> allObjects = new ArrayList<>();
 }
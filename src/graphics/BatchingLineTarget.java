@@ -0,0 +1,133 @@
+package graphics;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+
+// Collects a frame's screen-space segments grouped by colour and line width, then hands
+// each group to Java2D as a single Path2D in flush(). One draw call per group replaces one
+// drawLine (plus colour/stroke switches) per edge. Groups are drawn in the order they were
+// first used in the frame, so layering between differently coloured objects is kept.
+public class BatchingLineTarget implements LineTarget {
+    private static final class Batch {
+        final int argb;
+        final int lineWidth;
+        final Color color;
+        final Stroke stroke;
+        float[] coords = new float[4 * 64]; // x1, y1, x2, y2 per segment
+        int segments;
+
+        Batch(int argb, int lineWidth) {
+            this.argb = argb;
+            this.lineWidth = lineWidth;
+            this.color = new Color(argb, true);
+            this.stroke = new BasicStroke(lineWidth);
+        }
+    }
+
+    // Every group ever seen, kept across frames so their buffers, Colors and Strokes are reused
+    private final ArrayList<Batch> batches = new ArrayList<>();
+    private final ArrayList<Batch> usedThisFrame = new ArrayList<>();
+    private final Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, 4096);
+
+    private int width, height;
+    private int argb = 0xFF000000;
+    private int lineWidth = 1;
+    private Batch current; // group for the current colour and width, found lazily
+
+    // Starts a new frame; call once per paint before rendering into this target
+    public BatchingLineTarget reset(int width, int height) {
+        this.width = width;
+        this.height = height;
+        for (Batch b : usedThisFrame) b.segments = 0;
+        usedThisFrame.clear();
+        current = null;
+        return this;
+    }
+
+    @Override
+    public int getWidth() { return width; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public void setColor(int argb) {
+        if (argb != this.argb) {
+            this.argb = argb;
+            current = null;
+        }
+    }
+
+    @Override
+    public void setLineWidth(int lineWidth) {
+        if (lineWidth != this.lineWidth) {
+            this.lineWidth = lineWidth;
+            current = null;
+        }
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2) {
+        Batch b = current;
+        if (b == null) b = current = batchFor(argb, lineWidth);
+        int o = 4 * b.segments;
+        if (o + 4 > b.coords.length) b.coords = java.util.Arrays.copyOf(b.coords, b.coords.length * 2);
+        // Truncate like Graphics.drawLine(int...) did, so the batched frame looks the same
+        b.coords[o] = (int) x1;
+        b.coords[o + 1] = (int) y1;
+        b.coords[o + 2] = (int) x2;
+        b.coords[o + 3] = (int) y2;
+        b.segments++;
+    }
+
+    // Number of segments collected since reset, across all groups
+    public int getSegmentCount() {
+        int n = 0;
+        for (Batch b : usedThisFrame) n += b.segments;
+        return n;
+    }
+
+    // Number of draw calls flush() will issue
+    public int getGroupCount() {
+        return usedThisFrame.size();
+    }
+
+    // Draws every group with one Graphics2D.draw call each
+    public void flush(Graphics2D g) {
+        for (Batch b : usedThisFrame) {
+            if (b.segments == 0) continue;
+            path.reset();
+            float[] c = b.coords;
+            for (int i = 0, n = 4 * b.segments; i < n; i += 4) {
+                path.moveTo(c[i], c[i + 1]);
+                path.lineTo(c[i + 2], c[i + 3]);
+            }
+            g.setColor(b.color);
+            g.setStroke(b.stroke);
+            g.draw(path);
+        }
+    }
+
+    private Batch batchFor(int argb, int lineWidth) {
+        for (Batch b : usedThisFrame) {
+            if (b.argb == argb && b.lineWidth == lineWidth) return b;
+        }
+        Batch found = null;
+        for (Batch b : batches) {
+            if (b.argb == argb && b.lineWidth == lineWidth) {
+                found = b;
+                break;
+            }
+        }
+        if (found == null) {
+            found = new Batch(argb, lineWidth);
+            batches.add(found);
+        }
+        usedThisFrame.add(found);
+        return found;
+    }
+}
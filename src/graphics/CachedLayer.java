@@ -0,0 +1,52 @@
+package graphics;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+// An offscreen image that is only redrawn when it has been invalidated or its size changes;
+// otherwise drawing it is a single blit
+class CachedLayer {
+    interface Painter {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private final Painter painter;
+    private final boolean transparent;
+    private BufferedImage image;
+    private boolean dirty = true;
+
+    CachedLayer(Painter painter, boolean transparent) {
+        this.painter = painter;
+        this.transparent = transparent;
+    }
+
+    void invalidate() {
+        dirty = true;
+    }
+
+    void draw(Graphics g, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = new BufferedImage(width, height,
+                transparent ? BufferedImage.TYPE_INT_ARGB_PRE : BufferedImage.TYPE_INT_RGB);
+            dirty = true;
+        }
+        if (dirty) {
+            Graphics2D ig = image.createGraphics();
+            try {
+                if (transparent) {
+                    ig.setComposite(AlphaComposite.Clear);
+                    ig.fillRect(0, 0, width, height);
+                    ig.setComposite(AlphaComposite.SrcOver);
+                }
+                painter.paint(ig, width, height);
+            } finally {
+                ig.dispose();
+            }
+            dirty = false;
+        }
+        g.drawImage(image, x, y, null);
+    }
+}
@@ -0,0 +1,60 @@
+package graphics;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+
+// Forwards wireframe lines to a Java2D Graphics, the way Renderer has always drawn them
+public class Graphics2DLineTarget implements LineTarget {
+    private static final Stroke THIN_STROKE = new BasicStroke(1);
+    private static final Stroke BOLD_STROKE = new BasicStroke(3);
+
+    private Graphics2D g;
+    private int width, height;
+
+    // Small cache so the per-object colour switches don't allocate a Color every frame
+    private final int[] cachedArgb = new int[8];
+    private final Color[] cachedColors = new Color[8];
+    private int nextCacheSlot = 0;
+
+    // Points the adapter at this frame's Graphics; call once per paint
+    public Graphics2DLineTarget reset(Graphics2D g, int width, int height) {
+        this.g = g;
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    @Override
+    public int getWidth() { return width; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public void setColor(int argb) {
+        g.setColor(colorFor(argb));
+    }
+
+    @Override
+    public void setLineWidth(int lineWidth) {
+        g.setStroke(lineWidth == 3 ? BOLD_STROKE : lineWidth <= 1 ? THIN_STROKE : new BasicStroke(lineWidth));
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2) {
+        g.drawLine((int) x1, (int) y1, (int) x2, (int) y2);
+    }
+
+    private Color colorFor(int argb) {
+        for (int i = 0; i < cachedColors.length; i++) {
+            if (cachedColors[i] != null && cachedArgb[i] == argb) return cachedColors[i];
+        }
+        Color c = new Color(argb, true);
+        cachedArgb[nextCacheSlot] = argb;
+        cachedColors[nextCacheSlot] = c;
+        nextCacheSlot = (nextCacheSlot + 1) % cachedColors.length;
+        return c;
+    }
+}
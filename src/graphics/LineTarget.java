@@ -0,0 +1,14 @@
+package graphics;
+
+// Something screen-space wireframe lines can be drawn into (a Swing Graphics, a software framebuffer, ...)
+public interface LineTarget {
+    int getWidth();
+    int getHeight();
+
+    void setColor(int argb);
+
+    // Line width in pixels; 1 is the normal hairline
+    void setLineWidth(int width);
+
+    void drawLine(float x1, float y1, float x2, float y2);
+}
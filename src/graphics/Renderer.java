@@ -1,28 +1,86 @@
 package graphics;
 
+import engine.Camera;
+import engine.CubeStore;
+import engine.FrameStats;
 import engine.Leaderboard;
+import engine.RenderSink;
+import engine.Simulation;
 import objects.GameObject;
+import objects.Player;
 import objects.RectangularPrismWithWireframe;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.List;
+import java.awt.image.VolatileImage;
 
-public class Renderer extends JPanel {
-    private JFrame frame;
-    private List<GameObject> objectsToRender;
+public class Renderer extends JPanel implements RenderSink {
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 48);
+    private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 32);
+    private static final Font LEADERBOARD_FONT = new Font("Arial", Font.BOLD, 28);
+    private static final Font HUD_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Color OVERLAY_COLOR = new Color(0, 0, 0, 200);
 
-    private float cameraX, cameraY, cameraZ, cameraYaw, cameraPitch;
+    private JFrame frame;
+    private CubeStore cubesToRender;
+
+    // Projection and wireframe drawing live in SceneRenderer; we only hand it a Graphics adapter
+    private final SceneRenderer scene = new SceneRenderer();
+    private final Graphics2DLineTarget lineTarget = new Graphics2DLineTarget();
+    // By default the frame's lines are grouped by colour/width and drawn as one path per group
+    private final BatchingLineTarget batchTarget = new BatchingLineTarget();
+    private boolean batchedLines = true;
+    // Optional: rasterize the scene ourselves on all cores and show it as one image per frame
+    private boolean tiledRasterization = false;
+    private TiledRasterizer tiledRasterizer;
 
     // Add a field and setter for the platform:
     private RectangularPrismWithWireframe platform;
 
     private GameObject player;
 
+    // Timing overlay (F3); the text is rebuilt a couple of times a second, not every frame
+    private static final Font STATS_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final long STATS_REFRESH_NANOS = 500_000_000L;
+    private FrameStats frameStats;
+    private boolean showStatsOverlay = false;
+    private String[] statsLines = new String[0];
+    private long statsRefreshedAt = 0;
+
+    // Fraction of a simulation tick elapsed since the last update, for interpolating positions
+    private float interpolation = 1f;
+
+    // Active rendering: during gameplay the game loop draws into a VolatileImage back buffer and
+    // copies it to the screen itself (see present()). Menus still paint through Swing so their
+    // buttons work. paintLock keeps an EDT repaint from sharing the scene's scratch state, and
+    // scene state (camera, objects, interpolation) is only changed while holding it.
+    private boolean activeRendering = false;
+    private VolatileImage backBuffer;
+    private final Object paintLock = new Object();
+    // nanoTime of the oldest input reflected in the frame being drawn, 0 when none
+    private volatile long pendingInputNanos;
+
+    // Layers that only change now and then are kept as images and redrawn when invalidated:
+    // the title/leaderboard screen, the HUD text, and the scene while it is frozen behind the
+    // pause, game-over or settings screen
+    private final CachedLayer titleLayer = new CachedLayer(this::paintTitleLayer, false);
+    private final CachedLayer hudLayer = new CachedLayer(this::paintHudLayer, true);
+    private final CachedLayer frozenSceneLayer = new CachedLayer(this::paintSceneLayer, false);
+    private java.util.List<Leaderboard.Entry> titleEntries; // snapshot the title layer was drawn from
+    private float cameraX, cameraY, cameraZ, cameraYaw, cameraPitch;
+
     // Add this field and setter:
     private int points = 0;
-    public void setPoints(int points) { this.points = points; }
+    private String pointsLabel = "Points: 0";
+    public void setPoints(int points) {
+        // Only rebuild the label when the score changes, not on every frame
+        if (points != this.points) {
+            pointsLabel = "Points: " + points;
+            hudLayer.invalidate();
+        }
+        this.points = points;
+    }
 
     private boolean showTitleScreen = false;
     private JButton playButton;
@@ -39,6 +97,7 @@ public class Renderer extends JPanel {
 
     private boolean showGameOverScreen = false;
     private int finalScore = 0;
+    private String finalScoreLabel = "Score: 0";
     private JButton restartButton, menuButton;
 
     // Add these setters:
@@ -75,10 +134,97 @@ public class Renderer extends JPanel {
         });
     }
 
-    // Call this to update the list of objects to render
-    public void setObjectsToRender(List<GameObject> objects) {
-        this.objectsToRender = objects;
-        repaint();
+    // Call this to update the cubes to render; present() shows the frame
+    public void setCubesToRender(CubeStore cubes) {
+        synchronized (paintLock) {
+            if (cubes != this.cubesToRender) frozenSceneLayer.invalidate();
+            this.cubesToRender = cubes;
+        }
+    }
+
+    public void setActiveRendering(boolean activeRendering) {
+        this.activeRendering = activeRendering;
+        if (!activeRendering) backBuffer = null;
+    }
+
+    // Marks the next presented frame as the first to show input that arrived at the given time
+    public void setPendingInputNanos(long nanos) {
+        if (pendingInputNanos == 0) pendingInputNanos = nanos;
+    }
+
+    // Looks at the simulation from its orbit camera, between the previous tick and the current one
+    @Override
+    public void present(Simulation simulation, float alpha) {
+        Player player = simulation.getPlayer();
+        Camera camera = simulation.getCamera();
+        float targetX = player.getRenderX(alpha);
+        float targetY = player.getRenderY(alpha);
+        float targetZ = player.getRenderZ(alpha);
+        float[] camPos = camera.getPosition(targetX, targetY, targetZ);
+        float[] lookAngles = camera.getLookAngles(camPos[0], camPos[1], camPos[2], targetX, targetY, targetZ);
+        // An EDT repaint (menus, the frozen pause layer) draws under paintLock, so it sees either
+        // the last frame's scene state or this one's, never a mix
+        synchronized (paintLock) {
+            setCamera(camPos[0], camPos[1], camPos[2], lookAngles[0], lookAngles[1]);
+            setInterpolation(alpha);
+            setPlatform(simulation.getWorld().platform);
+            setPlayer(player);
+            setCubesToRender(simulation.getWorld().movingCubes);
+        }
+        present();
+    }
+
+    // Shows the current state. With active rendering and no menu up, the frame is drawn and put
+    // on screen on the calling thread before this returns; otherwise Swing is asked to repaint.
+    public void present() {
+        if (!activeRendering || isMenuShowing() || !isShowing()) {
+            repaint();
+            return;
+        }
+        synchronized (paintLock) {
+            int w = getWidth();
+            int h = getHeight();
+            if (w <= 0 || h <= 0) return;
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            do {
+                if (backBuffer == null || backBuffer.getWidth() != w || backBuffer.getHeight() != h
+                        || backBuffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    backBuffer = createVolatileImage(w, h);
+                    if (backBuffer == null) {
+                        repaint();
+                        return;
+                    }
+                }
+                Graphics2D g = backBuffer.createGraphics();
+                try {
+                    paintFrame(g);
+                } finally {
+                    g.dispose();
+                }
+                Graphics screen = getGraphics();
+                if (screen == null) return;
+                try {
+                    screen.drawImage(backBuffer, 0, 0, null);
+                } finally {
+                    screen.dispose();
+                }
+            } while (backBuffer.contentsLost());
+            // Push the copy out now rather than whenever the window system flushes
+            Toolkit.getDefaultToolkit().sync();
+            recordInputLatency();
+        }
+    }
+
+    private boolean isMenuShowing() {
+        return showTitleScreen || showPauseScreen || showGameOverScreen || showSettingsScreen;
+    }
+
+    private void recordInputLatency() {
+        long inputNanos = pendingInputNanos;
+        if (inputNanos != 0 && frameStats != null) {
+            pendingInputNanos = 0;
+            frameStats.record(FrameStats.Phase.LATENCY, System.nanoTime() - inputNanos);
+        }
     }
 
     public void renderObject(GameObject obj) {
@@ -90,20 +236,70 @@ public class Renderer extends JPanel {
     }
 
     public void setCamera(float x, float y, float z, float yaw, float pitch) {
-        this.cameraX = x;
-        this.cameraY = y;
-        this.cameraZ = z;
-        this.cameraYaw = yaw;
-        this.cameraPitch = pitch;
+        // The engine sets the camera every frame, even when nothing moves; only a real change
+        // makes the frozen scene stale
+        synchronized (paintLock) {
+            if (x == cameraX && y == cameraY && z == cameraZ && yaw == cameraYaw && pitch == cameraPitch) return;
+            cameraX = x; cameraY = y; cameraZ = z; cameraYaw = yaw; cameraPitch = pitch;
+            scene.setCamera(x, y, z, yaw, pitch);
+            frozenSceneLayer.invalidate();
+        }
     }
 
     // Add this setter for the platform:
     public void setPlatform(RectangularPrismWithWireframe platform) {
-        this.platform = platform;
+        synchronized (paintLock) {
+            if (platform != this.platform) frozenSceneLayer.invalidate();
+            this.platform = platform;
+        }
     }
 
     public void setPlayer(GameObject player) {
-        this.player = player;
+        synchronized (paintLock) {
+            if (player != this.player) frozenSceneLayer.invalidate();
+            this.player = player;
+        }
+    }
+
+    public void setFrameStats(FrameStats stats) {
+        this.frameStats = stats;
+    }
+
+    public void toggleStatsOverlay() {
+        showStatsOverlay = !showStatsOverlay;
+        statsRefreshedAt = 0;
+        hudLayer.invalidate();
+    }
+
+    // false draws the full wireframe, including edges hidden behind their own cube
+    public void setHiddenEdgeCulling(boolean enabled) {
+        synchronized (paintLock) {
+            if (enabled != scene.isHiddenEdgeCulling()) frozenSceneLayer.invalidate();
+            scene.setHiddenEdgeCulling(enabled);
+        }
+    }
+
+    public boolean isHiddenEdgeCulling() { return scene.isHiddenEdgeCulling(); }
+
+    // false draws every edge with its own Graphics.drawLine call, as before batching
+    public void setBatchedLines(boolean batchedLines) { this.batchedLines = batchedLines; }
+
+    // true draws the scene with TiledRasterizer instead of Java2D lines
+    public void setTiledRasterization(boolean tiled) {
+        synchronized (paintLock) {
+            this.tiledRasterization = tiled;
+            if (!tiled && tiledRasterizer != null) {
+                tiledRasterizer.shutdown();
+                tiledRasterizer = null;
+            }
+        }
+    }
+
+    public void setInterpolation(float alpha) {
+        synchronized (paintLock) {
+            if (alpha != this.interpolation) frozenSceneLayer.invalidate();
+            this.interpolation = alpha;
+        }
     }
 
     public void setTitleScreenVisible(boolean visible) {
@@ -176,9 +372,24 @@ public class Renderer extends JPanel {
         repaint();
     }
 
+    // Asks for a name on the EDT and hands it to onName there; the caller doesn't wait
+    public void promptHighScoreName(java.util.function.Consumer<String> onName) {
+        SwingUtilities.invokeLater(() -> {
+            String name = JOptionPane.showInputDialog(
+                frame,
+                "New High Score! Enter your name:",
+                "High Score",
+                JOptionPane.PLAIN_MESSAGE
+            );
+            if (name == null || name.trim().isEmpty()) name = "Player";
+            onName.accept(name.trim());
+        });
+    }
+
     public void setGameOverScreenVisible(boolean visible, int score) {
         showGameOverScreen = visible;
         finalScore = score;
+        finalScoreLabel = "Score: " + score;
         if (restartButton == null) {
             restartButton = new JButton("Restart");
             restartButton.setFont(new Font("Arial", Font.BOLD, 28));
@@ -283,292 +494,144 @@ public class Renderer extends JPanel {
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        g.setColor(Color.BLACK);
-        g.fillRect(0, 0, getWidth(), getHeight());
+        synchronized (paintLock) {
+            super.paintComponent(g);
+            paintFrame(g);
+            recordInputLatency();
+        }
+    }
+
+    // Draws one whole frame (scene, HUD and any overlay screen) into g
+    private void paintFrame(Graphics g) {
+        long paintStart = System.nanoTime();
 
         if (showTitleScreen) {
-            g.setColor(Color.WHITE);
-            g.setFont(new Font("Arial", Font.BOLD, 48));
-            g.drawString("Voxel Vault", getWidth()/2 - 130, 100); // Title
-
-            // Move leaderboard higher up
-            int leaderboardY = 410; // Was 470, now 390
-            g.setFont(new Font("Arial", Font.BOLD, 28));
-            g.drawString("Leaderboard:", getWidth()/2 - 100, leaderboardY);
-            java.util.List<Leaderboard.Entry> entries = Leaderboard.load();
-            for (int i = 0; i < entries.size(); i++) {
-                Leaderboard.Entry e = entries.get(i);
-                g.drawString((i+1) + ". " + e.name + " - " + e.score, getWidth()/2 - 100, leaderboardY + 40 + i*36);
+            // The leaderboard is an immutable snapshot, so a new list means new scores
+            java.util.List<Leaderboard.Entry> entries = Leaderboard.getEntries();
+            if (entries != titleEntries) {
+                titleEntries = entries;
+                titleLayer.invalidate();
             }
+            titleLayer.draw(g, 0, 0, getWidth(), getHeight());
             return;
         }
 
-        // Draw the platform
-        if (platform != null) {
-            drawRectangularPrismWithWireframe(g,
-                platform.getX(), platform.getY(), platform.getZ(),
-                platform.width, platform.height, platform.depth, platform.getColor());
-        }
-
-        // Draw the player as a blue cube
-        if (player != null) {
-            drawCube(g, player.getX(), player.getY(), player.getZ(), 20, player.getColor());
-        }
-
-        // Draw other objects (red cubes)
-        if (objectsToRender != null) {
-            for (GameObject obj : objectsToRender) {
-                drawCube(g, obj.getX(), obj.getY(), obj.getZ(), 40, obj.getColor());
-            }
+        if (showPauseScreen || showGameOverScreen || showSettingsScreen) {
+            // Nothing moves behind these screens: render the scene once and blit it after that
+            frozenSceneLayer.draw(g, 0, 0, getWidth(), getHeight());
+        } else {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, getWidth(), getHeight());
+            renderScene((Graphics2D) g, getWidth(), getHeight());
+            frozenSceneLayer.invalidate();
         }
 
-        // Draw the points in the top left
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("Arial", Font.BOLD, 24));
-        g.drawString("Points: " + points, 20, 32);
+        // Points (and the F3 timings) in the top left
+        if (showStatsOverlay) refreshStatsLines();
+        int hudHeight = showStatsOverlay ? 60 + statsLines.length * 14 : 44;
+        hudLayer.draw(g, 0, 0, Math.min(getWidth(), 520), hudHeight);
+        if (frameStats != null) frameStats.record(FrameStats.Phase.PAINT, System.nanoTime() - paintStart);
 
         if (showGameOverScreen) {
-            g.setColor(new Color(0, 0, 0, 200));
+            g.setColor(OVERLAY_COLOR);
             g.fillRect(0, 0, getWidth(), getHeight());
             g.setColor(Color.WHITE);
-            g.setFont(new Font("Arial", Font.BOLD, 48));
+            g.setFont(TITLE_FONT);
             g.drawString("Game Over", getWidth()/2 - 140, 200);
-            g.setFont(new Font("Arial", Font.BOLD, 32));
-            g.drawString("Score: " + finalScore, getWidth()/2 - 80, 260);
+            g.setFont(SCORE_FONT);
+            g.drawString(finalScoreLabel, getWidth()/2 - 80, 260);
             // Buttons are real JButtons, so no need to draw them here
             return;
         }
 
         if (showSettingsScreen) {
             g.setColor(Color.WHITE);
-            g.setFont(new Font("Arial", Font.BOLD, 48));
+            g.setFont(TITLE_FONT);
             g.drawString("Settings", getWidth()/2 - 120, 200);
             // Buttons are real JButtons, so no need to draw them here
             return;
         }
     }
 
-    // Draws a rectangular prism centered at (cx, cy, cz) with given width, height, depth, and wireframe surface
-    private void drawRectangularPrismWithWireframe(Graphics g, float cx, float cy, float cz, float width, float height, float depth, Color color) {
-        // 8 vertices of the prism
-        float[][] vertices = {
-            {-width/2, -height/2, -depth/2}, {width/2, -height/2, -depth/2}, {width/2, height/2, -depth/2}, {-width/2, height/2, -depth/2},
-            {-width/2, -height/2, depth/2},  {width/2, -height/2, depth/2},  {width/2, height/2, depth/2},  {-width/2, height/2, depth/2}
-        };
-        int[][] edges = {
-            {0,1},{1,2},{2,3},{3,0}, // back face
-            {4,5},{5,6},{6,7},{7,4}, // front face
-            {0,4},{1,5},{2,6},{3,7}  // connections
-        };
-
-        int[] sx = new int[8];
-        int[] sy = new int[8];
-        int w = getWidth();
-        int h = getHeight();
-
-        for (int i = 0; i < 8; i++) {
-            float x = cx + vertices[i][0];
-            float y = cy + vertices[i][1];
-            float z = cz + vertices[i][2];
-            float[] cam = getCameraSpace(x, y, z);
-            float[] proj = projectCameraSpace(cam, w, h);
-            sx[i] = (int) proj[0];
-            sy[i] = (int) proj[1];
-        }
-
-        // Draw main edges with bold stroke
-        Graphics2D g2 = (Graphics2D) g;
-        Stroke oldStroke = g2.getStroke();
-        g2.setStroke(new BasicStroke(3)); // Bold lines
-        g2.setColor(color);
-        for (int[] edge : edges) {
-            // Use projectAndDrawLine for proper near-plane clipping
-            projectAndDrawLine(g2,
-                cx + vertices[edge[0]][0], cy + vertices[edge[0]][1], cz + vertices[edge[0]][2],
-                cx + vertices[edge[1]][0], cy + vertices[edge[1]][1], cz + vertices[edge[1]][2]
-            );
-        }
-        g2.setStroke(oldStroke);
-
-        // Draw wireframe on surfaces (vertical and horizontal lines on top face) in the same color, but normal thickness
-        g2.setColor(color);
-        int wireCount = 5;
-        // On top face (between vertices 3-2-6-7)
-        for (int i = 1; i < wireCount; i++) {
-            float alpha = i / (float)wireCount;
-            float xA = lerp(vertices[3][0], vertices[2][0], alpha) + cx;
-            float yA = lerp(vertices[3][1], vertices[2][1], alpha) + cy;
-            float zA = lerp(vertices[3][2], vertices[2][2], alpha) + cz;
-            float xB = lerp(vertices[7][0], vertices[6][0], alpha) + cx;
-            float yB = lerp(vertices[7][1], vertices[6][1], alpha) + cy;
-            float zB = lerp(vertices[7][2], vertices[6][2], alpha) + cz;
-            projectAndDrawLine(g2, xA, yA, zA, xB, yB, zB);
-        }
-        // On top face (between vertices 3-7 and 2-6)
-        for (int i = 1; i < wireCount; i++) {
-            float alpha = i / (float)wireCount;
-            float xA = lerp(vertices[3][0], vertices[7][0], alpha) + cx;
-            float yA = lerp(vertices[3][1], vertices[7][1], alpha) + cy;
-            float zA = lerp(vertices[3][2], vertices[7][2], alpha) + cz;
-            float xB = lerp(vertices[2][0], vertices[6][0], alpha) + cx;
-            float yB = lerp(vertices[2][1], vertices[6][1], alpha) + cy;
-            float zB = lerp(vertices[2][2], vertices[6][2], alpha) + cz;
-            projectAndDrawLine(g2, xA, yA, zA, xB, yB, zB);
-        }
-    }
-
-    // Draws a wireframe cube centered at (cx, cy, cz) with given size
-    private void drawCube(Graphics g, float cx, float cy, float cz, float size, Color color) {
-        // Should use size/2 for offsets from center
-        float[][] vertices = {
-            {-size/2, -size/2, -size/2}, {size/2, -size/2, -size/2},
-            {size/2, size/2, -size/2},   {-size/2, size/2, -size/2},
-            {-size/2, -size/2, size/2},  {size/2, -size/2, size/2},
-            {size/2, size/2, size/2},    {-size/2, size/2, size/2}
-        };
-        int[][] edges = {
-            {0,1},{1,2},{2,3},{3,0},
-            {4,5},{5,6},{6,7},{7,4},
-            {0,4},{1,5},{2,6},{3,7}
-        };
-
-        Graphics2D g2 = (Graphics2D) g;
-        g2.setColor(color);
-
-        // Use projectAndDrawLine for all edges to ensure proper near-plane clipping
-        for (int[] edge : edges) {
-            float x1 = cx + vertices[edge[0]][0];
-float y1 = cy + vertices[edge[0]][1];
-float z1 = cz + vertices[edge[0]][2];
-float x2 = cx + vertices[edge[1]][0];
-float y2 = cy + vertices[edge[1]][1];
-float z2 = cz + vertices[edge[1]][2];
-            projectAndDrawLine(g2, x1, y1, z1, x2, y2, z2);
-        }
-    }
-
-    // Draws a wireframe ground grid centered at y = 0
-    private void drawGroundGrid(Graphics g, int gridX, int gridZ, float spacing) {
-        g.setColor(Color.LIGHT_GRAY);
-        int halfX = gridX / 2;
-        int halfZ = gridZ / 2;
-        for (int x = -halfX; x <= halfX; x++) {
-            // Line along Z
-            projectAndDrawLine(g,
-                x * spacing, 0, -halfZ * spacing,
-                x * spacing, 0, halfZ * spacing
-            );
-        }
-        for (int z = -halfZ; z <= halfZ; z++) {
-            // Line along X
-            projectAndDrawLine(g,
-                -halfX * spacing, 0, z * spacing,
-                halfX * spacing, 0, z * spacing
-            );
+    private void renderScene(Graphics2D g, int width, int height) {
+        if (tiledRasterization) {
+            // Rebuilt on resize, e.g. after toggleFullscreen
+            if (tiledRasterizer == null || tiledRasterizer.getWidth() != width || tiledRasterizer.getHeight() != height) {
+                if (tiledRasterizer != null) tiledRasterizer.shutdown();
+                tiledRasterizer = new TiledRasterizer(width, height);
+            }
+            tiledRasterizer.clear(0xFF000000);
+            scene.render(tiledRasterizer, platform, player, cubesToRender, interpolation);
+            tiledRasterizer.finish();
+            g.drawImage(tiledRasterizer.getImage(), 0, 0, null);
+        } else if (batchedLines) {
+            scene.render(batchTarget.reset(width, height), platform, player, cubesToRender, interpolation);
+            batchTarget.flush(g);
+        } else {
+            scene.render(lineTarget.reset(g, width, height), platform, player, cubesToRender, interpolation);
         }
     }
 
-    // Projects two 3D points and draws a line between them
-    private void projectAndDrawLine(Graphics g, float x1, float y1, float z1, float x2, float y2, float z2) {
-        int w = getWidth();
-        int h = getHeight();
-        float nearPlane = 1f; // Slightly larger for stability
-        float epsilon = 1e-4f;
-
-        // Get camera-space coordinates for both points
-        float[] cam1 = getCameraSpace(x1, y1, z1);
-        float[] cam2 = getCameraSpace(x2, y2, z2);
+    private void paintSceneLayer(Graphics2D g, int width, int height) {
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, width, height);
+        renderScene(g, width, height);
+    }
 
-        // If both points are behind the near plane, don't draw
-        if (cam1[2] < nearPlane - epsilon && cam2[2] < nearPlane - epsilon) return;
+    private void paintTitleLayer(Graphics2D g, int width, int height) {
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.WHITE);
+        g.setFont(TITLE_FONT);
+        g.drawString("Voxel Vault", width/2 - 130, 100); // Title
 
-        // If one point is behind the near plane, clip the line
-        if (cam1[2] < nearPlane - epsilon || cam2[2] < nearPlane - epsilon) {
-            float[] in, out;
-            if (cam1[2] < nearPlane - epsilon) {
-                in = cam2;
-                out = cam1;
-            } else {
-                in = cam1;
-                out = cam2;
-            }
-            float t = (nearPlane - in[2]) / (out[2] - in[2]);
-            float ix = in[0] + t * (out[0] - in[0]);
-            float iy = in[1] + t * (out[1] - in[1]);
-            float iz = nearPlane;
-            if (cam1[2] < nearPlane - epsilon) {
-                cam1 = new float[]{ix, iy, iz};
-            } else {
-                cam2 = new float[]{ix, iy, iz};
-            }
+        // Move leaderboard higher up
+        int leaderboardY = 410; // Was 470, now 390
+        g.setFont(LEADERBOARD_FONT);
+        g.drawString("Leaderboard:", width/2 - 100, leaderboardY);
+        for (int i = 0; i < titleEntries.size(); i++) {
+            Leaderboard.Entry e = titleEntries.get(i);
+            g.drawString((i+1) + ". " + e.name + " - " + e.score, width/2 - 100, leaderboardY + 40 + i*36);
         }
-
-        // Project both points
-        float[] p1 = projectCameraSpace(cam1, w, h);
-        float[] p2 = projectCameraSpace(cam2, w, h);
-
-        g.drawLine((int)p1[0], (int)p1[1], (int)p2[0], (int)p2[1]);
     }
 
-    // Converts world coordinates to camera space (after camera transform and rotation)
-    private float[] getCameraSpace(float x, float y, float z) {
-        // Camera position
-        float px = x - cameraX;
-        float py = y - cameraY;
-        float pz = z - cameraZ;
-
-        // Build camera axes (assuming yaw/pitch FPS camera)
-        double yawRad = Math.toRadians(cameraYaw);
-        double pitchRad = Math.toRadians(cameraPitch);
-
-        // Forward (N)
-        float nx = (float)(Math.sin(yawRad) * Math.cos(pitchRad));
-        float ny = (float)(-Math.sin(pitchRad));
-        float nz = (float)(Math.cos(yawRad) * Math.cos(pitchRad));
-
-        // Up (V)
-        float upx = 0, upy = 1, upz = 0;
-
-        // Right (U) = up x forward
-        float ux = upy * nz - upz * ny;
-        float uy = upz * nx - upx * nz;
-        float uz = upx * ny - upy * nx;
-
-        // Normalize U
-        float ul = (float)Math.sqrt(ux*ux + uy*uy + uz*uz);
-        ux /= ul; uy /= ul; uz /= ul;
-
-        // Recompute V = N x U (guarantees orthogonality)
-        float vx = ny * uz - nz * uy;
-        float vy = nz * ux - nx * uz;
-        float vz = nx * uy - ny * ux;
-
-        // Project point onto camera axes
-        float camX = px * ux + py * uy + pz * uz;
-        float camY = px * vx + py * vy + pz * vz;
-        float camZ = px * nx + py * ny + pz * nz;
-
-        return new float[]{camX, camY, camZ};
+    private void paintHudLayer(Graphics2D g, int width, int height) {
+        g.setColor(Color.WHITE);
+        g.setFont(HUD_FONT);
+        g.drawString(pointsLabel, 20, 32);
+        if (showStatsOverlay) {
+            // Per-phase p50/p99/max under the score
+            g.setFont(STATS_FONT);
+            for (int i = 0; i < statsLines.length; i++) {
+                g.drawString(statsLines[i], 20, 56 + i * 14);
+            }
+        }
     }
 
-    // Projects a camera-space point to screen coordinates
-    private float[] projectCameraSpace(float[] cam, int w, int h) {
-        float perspective = 400 / (cam[2]);
-        float sx = w / 2 + cam[0] * perspective;
-        float sy = h / 2 - cam[1] * perspective;
-        return new float[]{sx, sy};
+    // Rebuilds the timing text a couple of times a second
+    private void refreshStatsLines() {
+        if (frameStats == null) return;
+        long now = System.nanoTime();
+        if (now - statsRefreshedAt > STATS_REFRESH_NANOS) {
+            String[] phases = frameStats.summaryLines();
+            statsLines = java.util.Arrays.copyOf(phases, phases.length + (cubesToRender != null ? 3 : 2));
+            statsLines[phases.length] = String.format("clusters  drawn %d  culled %d",
+                scene.getDrawnCount(), scene.getCulledCount());
+            statsLines[phases.length + 1] = String.format("lines     %d  hidden %d  (F4: %s wireframe)",
+                scene.getLineCount(), scene.getHiddenEdgeCount(), scene.isHiddenEdgeCulling() ? "culled" : "full");
+            if (cubesToRender != null) {
+                statsLines[phases.length + 2] = String.format("ids       reused %d  new %d",
+                    cubesToRender.getReusedIdCount(), cubesToRender.getNewIdCount());
+            }
+            statsRefreshedAt = now;
+            hudLayer.invalidate();
+        }
     }
 
     public JFrame getFrame() {
         return frame;
     }
 
-    // Add this helper method:
-    private float lerp(float a, float b, float t) {
-        return a * (1 - t) + b * t;
-    }
-
     public void updateMenuButtonPositions() {
         int centerX = getWidth() / 2 - 100; // 200px wide buttons
 
@@ -0,0 +1,361 @@
+package graphics;
+
+import engine.CubeStore;
+import engine.VoxelShape;
+import objects.GameObject;
+import objects.RectangularPrismWithWireframe;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Projects the game's wireframe geometry (platform, player, cubes) through the camera and
+// draws the resulting screen-space lines into any LineTarget. Holds no Swing state, so the
+// same pipeline feeds the Swing Renderer and the headless SoftwareRasterizer.
+public class SceneRenderer {
+    // Unit box centered at the origin; scaled per object instead of building vertex arrays per call
+    private static final WireMesh UNIT_BOX = WireMesh.unitBox();
+    private static final int GROUND_GRID_COLOR = 0xFFC0C0C0; // Color.LIGHT_GRAY
+    private static final float FOCAL_LENGTH = 400f; // must match projectCameraSpace
+    private static final float NEAR_PLANE = 1f;
+
+    // Scratch buffers reused by the paint path so a frame allocates nothing per vertex
+    private final float[] camScratch1 = new float[3];
+    private final float[] camScratch2 = new float[3];
+    private final float[] screenScratch1 = new float[2];
+    private final float[] screenScratch2 = new float[2];
+
+    // Per-vertex buffers for drawMesh: camera-space xyz and screen xy, grown to the largest mesh
+    private float[] meshCam = new float[3 * 8];
+    private float[] meshScreen = new float[2 * 8];
+
+    // The platform's mesh, rebuilt only when its dimensions change
+    private WireMesh prismMesh;
+    private float prismWidth, prismHeight, prismDepth;
+    private WireMesh groundGridMesh;
+    // Outline per cluster shape, built on first draw. Shapes are shared and compare by identity;
+    // weak keys let an entry go once no cluster uses its shape any more.
+    private final Map<VoxelShape, WireMesh> outlines = new WeakHashMap<>();
+
+    private float cameraX, cameraY, cameraZ, cameraYaw, cameraPitch;
+
+    // View basis (right U, up V, forward N), rebuilt once per frame in setCamera
+    private float ux, uy, uz, vx, vy, vz, nx, ny, nz;
+
+    // Side planes of the view frustum in camera space, rebuilt per frame for the target size.
+    // A point is inside the right plane when x * sideCos - z * sideSin <= 0, and likewise for
+    // the others, so a bounding sphere is outside when that distance exceeds its radius.
+    private float sideCosX, sideSinX, sideCosY, sideSinY;
+    private int culledCount, drawnCount;
+
+    // Skip mesh edges whose two faces both point away from the camera (see WireMesh)
+    private boolean hiddenEdgeCulling = true;
+    private int lineCount, hiddenEdgeCount;
+    private final float[] localCamera = new float[3]; // camera position in the current mesh's model space
+
+    public SceneRenderer() {
+        updateViewBasis();
+    }
+
+    public void setCamera(float x, float y, float z, float yaw, float pitch) {
+        this.cameraX = x;
+        this.cameraY = y;
+        this.cameraZ = z;
+        this.cameraYaw = yaw;
+        this.cameraPitch = pitch;
+        updateViewBasis();
+    }
+
+    // Draws one frame of the game scene. alpha interpolates player and cubes between ticks.
+    public void render(LineTarget target, RectangularPrismWithWireframe platform, GameObject player,
+                       CubeStore cubes, float alpha) {
+        updateFrustum(target.getWidth(), target.getHeight());
+        culledCount = 0;
+        drawnCount = 0;
+        lineCount = 0;
+        hiddenEdgeCount = 0;
+
+        // Draw the platform
+        if (platform != null) {
+            drawRectangularPrismWithWireframe(target,
+                platform.getX(), platform.getY(), platform.getZ(),
+                platform.width, platform.height, platform.depth, platform.getColor());
+        }
+
+        // Draw the player as a blue cube
+        if (player != null) {
+            drawCube(target, player.getRenderX(alpha), player.getRenderY(alpha), player.getRenderZ(alpha), 20,
+                player.getColor());
+        }
+
+        // Draw other objects (red cube clusters), each as its outer outline only
+        if (cubes != null) {
+            for (int i = 0; i < cubes.size(); i++) {
+                VoxelShape shape = cubes.getShape(i);
+                float x = cubes.getRenderX(i, alpha);
+                float y = cubes.getY(i);
+                float z = cubes.getRenderZ(i, alpha);
+                if (!isSphereVisible(x, y, z, shape.getBoundingRadius())) {
+                    culledCount++;
+                    continue;
+                }
+                drawnCount++;
+                drawMesh(target, outlineOf(shape), x, y, z, 1f, cubes.getColor(i));
+            }
+        }
+    }
+
+    // Clusters skipped by the frustum test / drawn in the last render()
+    public int getCulledCount() { return culledCount; }
+    public int getDrawnCount() { return drawnCount; }
+    // Lines sent to the target / edges skipped as hidden in the last render()
+    public int getLineCount() { return lineCount; }
+    public int getHiddenEdgeCount() { return hiddenEdgeCount; }
+
+    // false draws every edge of every mesh (full wireframe)
+    public void setHiddenEdgeCulling(boolean enabled) { this.hiddenEdgeCulling = enabled; }
+    public boolean isHiddenEdgeCulling() { return hiddenEdgeCulling; }
+
+    // Conservative test: false only when the sphere is entirely behind the near plane or
+    // outside one of the four side planes
+    boolean isSphereVisible(float x, float y, float z, float radius) {
+        float[] cam = getCameraSpace(x, y, z, camScratch1);
+        float cz = cam[2];
+        if (cz + radius < NEAR_PLANE) return false;
+        if (cam[0] * sideCosX - cz * sideSinX > radius) return false;
+        if (-cam[0] * sideCosX - cz * sideSinX > radius) return false;
+        if (cam[1] * sideCosY - cz * sideSinY > radius) return false;
+        return -cam[1] * sideCosY - cz * sideSinY <= radius;
+    }
+
+    // The screen edge at w/2 pixels maps to x/z = (w/2) / FOCAL_LENGTH in camera space;
+    // store each side plane's unit normal so the test above is a true distance
+    private void updateFrustum(int w, int h) {
+        float tx = (w / 2f) / FOCAL_LENGTH;
+        float ty = (h / 2f) / FOCAL_LENGTH;
+        float lx = (float) Math.sqrt(1 + tx * tx);
+        float ly = (float) Math.sqrt(1 + ty * ty);
+        sideCosX = 1 / lx;
+        sideSinX = tx / lx;
+        sideCosY = 1 / ly;
+        sideSinY = ty / ly;
+    }
+
+    // Builds the camera axes (assuming yaw/pitch FPS camera) so getCameraSpace
+    // only has to do three dot products per vertex
+    private void updateViewBasis() {
+        double yawRad = Math.toRadians(cameraYaw);
+        double pitchRad = Math.toRadians(cameraPitch);
+
+        // Forward (N)
+        nx = (float)(Math.sin(yawRad) * Math.cos(pitchRad));
+        ny = (float)(-Math.sin(pitchRad));
+        nz = (float)(Math.cos(yawRad) * Math.cos(pitchRad));
+
+        // Up (V)
+        float upx = 0, upy = 1, upz = 0;
+
+        // Right (U) = up x forward
+        ux = upy * nz - upz * ny;
+        uy = upz * nx - upx * nz;
+        uz = upx * ny - upy * nx;
+
+        // Normalize U
+        float ul = (float)Math.sqrt(ux*ux + uy*uy + uz*uz);
+        ux /= ul; uy /= ul; uz /= ul;
+
+        // Recompute V = N x U (guarantees orthogonality)
+        vx = ny * uz - nz * uy;
+        vy = nz * ux - nx * uz;
+        vz = nx * uy - ny * ux;
+    }
+
+    // Draws a rectangular prism centered at (cx, cy, cz) with given width, height, depth, and wireframe surface
+    private void drawRectangularPrismWithWireframe(LineTarget t, float cx, float cy, float cz, float width, float height, float depth, int color) {
+        if (prismMesh == null || width != prismWidth || height != prismHeight || depth != prismDepth) {
+            // Bold main edges, and a 5x5 wire pattern on the top face at normal thickness
+            prismMesh = WireMesh.box(width, height, depth, 3, 5);
+            prismWidth = width;
+            prismHeight = height;
+            prismDepth = depth;
+        }
+        drawMesh(t, prismMesh, cx, cy, cz, 1f, color);
+    }
+
+    // Draws a wireframe cube centered at (cx, cy, cz) with given size
+    private void drawCube(LineTarget t, float cx, float cy, float cz, float size, int color) {
+        drawMesh(t, UNIT_BOX, cx, cy, cz, size, color);
+    }
+
+    // Draws a wireframe ground grid centered at y = 0
+    private void drawGroundGrid(LineTarget t, int gridX, int gridZ, float spacing) {
+        if (groundGridMesh == null) groundGridMesh = WireMesh.groundGrid(gridX, gridZ, spacing);
+        drawMesh(t, groundGridMesh, 0, 0, 0, 1f, GROUND_GRID_COLOR);
+    }
+
+    // Edges of the cluster's outer surface, centered on its bounding box; faces shared by two
+    // voxels and seams across flat surfaces are left out
+    WireMesh outlineOf(VoxelShape shape) {
+        WireMesh mesh = outlines.get(shape);
+        if (mesh == null) {
+            mesh = WireMesh.voxelOutline(shape, CubeStore.SIZE);
+            outlines.put(shape, mesh);
+        }
+        return mesh;
+    }
+
+    // Draws a mesh scaled by scale and centered at (cx, cy, cz). Every vertex is transformed
+    // (and, when in front of the near plane, projected) exactly once; edges then only look up
+    // their two endpoints, and only edges crossing the near plane need extra work.
+    void drawMesh(LineTarget t, WireMesh mesh, float cx, float cy, float cz, float scale, int color) {
+        int w = t.getWidth();
+        int h = t.getHeight();
+        float nearLimit = NEAR_PLANE - 1e-4f;
+        int n = mesh.getVertexCount();
+        if (meshCam.length < 3 * n) {
+            meshCam = new float[3 * n];
+            meshScreen = new float[2 * n];
+        }
+        float[] v = mesh.vertices;
+        float[] cam = meshCam;
+        float[] screen = meshScreen;
+        // Same arithmetic as getCameraSpace and projectCameraSpace, inlined to skip the scratch copies
+        int halfW = w / 2;
+        int halfH = h / 2;
+        for (int i = 0; i < n; i++) {
+            float px = (cx + v[3 * i] * scale) - cameraX;
+            float py = (cy + v[3 * i + 1] * scale) - cameraY;
+            float pz = (cz + v[3 * i + 2] * scale) - cameraZ;
+            float camX = px * ux + py * uy + pz * uz;
+            float camY = px * vx + py * vy + pz * vz;
+            float camZ = px * nx + py * ny + pz * nz;
+            cam[3 * i] = camX;
+            cam[3 * i + 1] = camY;
+            cam[3 * i + 2] = camZ;
+            if (camZ >= nearLimit) {
+                float perspective = FOCAL_LENGTH / camZ;
+                screen[2 * i] = halfW + camX * perspective;
+                screen[2 * i + 1] = halfH - camY * perspective;
+            }
+        }
+
+        int[] faces = mesh.edgeFaces;
+        boolean cullHidden = hiddenEdgeCulling && scale != 0;
+        float[] local = localCamera;
+        if (cullHidden) {
+            local[0] = (cameraX - cx) / scale;
+            local[1] = (cameraY - cy) / scale;
+            local[2] = (cameraZ - cz) / scale;
+        }
+
+        t.setColor(color);
+        int[] edges = mesh.edges;
+        int[] widths = mesh.edgeWidths;
+        int lineWidth = 1;
+        for (int e = 0; e < widths.length; e++) {
+            int a = edges[2 * e];
+            int b = edges[2 * e + 1];
+            if (cullHidden) {
+                int f0 = faces[2 * e], f1 = faces[2 * e + 1];
+                // A face points at the camera when the camera is on its outer side (or in its plane,
+                // so silhouette edges seen edge-on stay); the plane passes through endpoint a
+                if (f0 != WireMesh.NO_FACE && f1 != WireMesh.NO_FACE) {
+                    float d0 = local[f0 >> 1] - v[3 * a + (f0 >> 1)];
+                    float d1 = local[f1 >> 1] - v[3 * a + (f1 >> 1)];
+                    boolean front0 = (f0 & 1) == 0 ? d0 >= 0 : d0 <= 0;
+                    boolean front1 = (f1 & 1) == 0 ? d1 >= 0 : d1 <= 0;
+                    if (!front0 && !front1) {
+                        hiddenEdgeCount++;
+                        continue;
+                    }
+                }
+            }
+            boolean aBehind = cam[3 * a + 2] < nearLimit;
+            boolean bBehind = cam[3 * b + 2] < nearLimit;
+            if (aBehind && bBehind) continue;
+            if (widths[e] != lineWidth) {
+                lineWidth = widths[e];
+                t.setLineWidth(lineWidth);
+            }
+            lineCount++;
+            if (!aBehind && !bBehind) {
+                t.drawLine(screen[2 * a], screen[2 * a + 1], screen[2 * b], screen[2 * b + 1]);
+                continue;
+            }
+            // One endpoint is behind the near plane: move it onto the plane and project it
+            int in = aBehind ? b : a;
+            int out = aBehind ? a : b;
+            float inZ = cam[3 * in + 2];
+            float t0 = (NEAR_PLANE - inZ) / (cam[3 * out + 2] - inZ);
+            camScratch2[0] = cam[3 * in] + t0 * (cam[3 * out] - cam[3 * in]);
+            camScratch2[1] = cam[3 * in + 1] + t0 * (cam[3 * out + 1] - cam[3 * in + 1]);
+            camScratch2[2] = NEAR_PLANE;
+            projectCameraSpace(camScratch2, w, h, screenScratch2);
+            if (aBehind) {
+                t.drawLine(screenScratch2[0], screenScratch2[1], screen[2 * b], screen[2 * b + 1]);
+            } else {
+                t.drawLine(screen[2 * a], screen[2 * a + 1], screenScratch2[0], screenScratch2[1]);
+            }
+        }
+        if (lineWidth != 1) t.setLineWidth(1);
+    }
+
+    // Projects two 3D points and draws a line between them
+    // (package-private, like the two helpers below, so the benchmarks can call them directly)
+    void projectAndDrawLine(LineTarget t, float x1, float y1, float z1, float x2, float y2, float z2) {
+        int w = t.getWidth();
+        int h = t.getHeight();
+        float nearPlane = NEAR_PLANE; // Slightly larger for stability
+        float epsilon = 1e-4f;
+
+        // Get camera-space coordinates for both points
+        float[] cam1 = getCameraSpace(x1, y1, z1, camScratch1);
+        float[] cam2 = getCameraSpace(x2, y2, z2, camScratch2);
+
+        // If both points are behind the near plane, don't draw
+        if (cam1[2] < nearPlane - epsilon && cam2[2] < nearPlane - epsilon) return;
+
+        // If one point is behind the near plane, clip the line (in place, the scratch buffers are ours)
+        if (cam1[2] < nearPlane - epsilon || cam2[2] < nearPlane - epsilon) {
+            float[] in, out;
+            if (cam1[2] < nearPlane - epsilon) {
+                in = cam2;
+                out = cam1;
+            } else {
+                in = cam1;
+                out = cam2;
+            }
+            float t0 = (nearPlane - in[2]) / (out[2] - in[2]);
+            out[0] = in[0] + t0 * (out[0] - in[0]);
+            out[1] = in[1] + t0 * (out[1] - in[1]);
+            out[2] = nearPlane;
+        }
+
+        // Project both points
+        float[] p1 = projectCameraSpace(cam1, w, h, screenScratch1);
+        float[] p2 = projectCameraSpace(cam2, w, h, screenScratch2);
+
+        t.drawLine(p1[0], p1[1], p2[0], p2[1]);
+    }
+
+    // Converts world coordinates to camera space (after camera transform and rotation), written into out
+    float[] getCameraSpace(float x, float y, float z, float[] out) {
+        // Camera position
+        float px = x - cameraX;
+        float py = y - cameraY;
+        float pz = z - cameraZ;
+
+        // Project point onto camera axes
+        out[0] = px * ux + py * uy + pz * uz;
+        out[1] = px * vx + py * vy + pz * vz;
+        out[2] = px * nx + py * ny + pz * nz;
+        return out;
+    }
+
+    // Projects a camera-space point to screen coordinates, written into out
+    float[] projectCameraSpace(float[] cam, int w, int h, float[] out) {
+        float perspective = FOCAL_LENGTH / (cam[2]);
+        out[0] = w / 2 + cam[0] * perspective;
+        out[1] = h / 2 - cam[1] * perspective;
+        return out;
+    }
+}
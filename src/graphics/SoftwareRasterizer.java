@@ -0,0 +1,129 @@
+package graphics;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Draws wireframe lines into an int[] ARGB framebuffer without touching Java2D or a display.
+// Lines are clipped to the viewport (Cohen-Sutherland) and then walked with Bresenham.
+public class SoftwareRasterizer implements LineTarget {
+    private static final int INSIDE = 0, LEFT = 1, RIGHT = 2, BOTTOM = 4, TOP = 8;
+
+    private final int width, height;
+    private final int[] pixels;
+    private int color = 0xFFFFFFFF;
+    private int lineWidth = 1;
+    private final float[] clipScratch = new float[4];
+
+    public SoftwareRasterizer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+    }
+
+    @Override
+    public int getWidth() { return width; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    // Row-major ARGB pixels, width * height
+    public int[] getPixels() { return pixels; }
+
+    public void clear(int argb) {
+        Arrays.fill(pixels, argb);
+    }
+
+    @Override
+    public void setColor(int argb) {
+        this.color = argb;
+    }
+
+    @Override
+    public void setLineWidth(int width) {
+        this.lineWidth = Math.max(width, 1);
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2) {
+        // Thick lines are drawn as parallel 1px lines offset across the minor axis
+        boolean steep = Math.abs(y2 - y1) > Math.abs(x2 - x1);
+        int first = -(lineWidth - 1) / 2;
+        for (int k = first; k < first + lineWidth; k++) {
+            if (steep) drawClippedLine(x1 + k, y1, x2 + k, y2);
+            else drawClippedLine(x1, y1 + k, x2, y2 + k);
+        }
+    }
+
+    private void drawClippedLine(float x1, float y1, float x2, float y2) {
+        float[] seg = clipScratch;
+        seg[0] = x1; seg[1] = y1; seg[2] = x2; seg[3] = y2;
+        if (!clipToViewport(seg, width - 1, height - 1)) return;
+        bresenham((int) seg[0], (int) seg[1], (int) seg[2], (int) seg[3]);
+    }
+
+    // Clips the segment {x1, y1, x2, y2} in place to [0, maxX] x [0, maxY];
+    // false if nothing of it is inside
+    static boolean clipToViewport(float[] seg, float maxX, float maxY) {
+        float x1 = seg[0], y1 = seg[1], x2 = seg[2], y2 = seg[3];
+        int code1 = outCode(x1, y1, maxX, maxY);
+        int code2 = outCode(x2, y2, maxX, maxY);
+        while (true) {
+            if ((code1 | code2) == 0) break;            // both inside
+            if ((code1 & code2) != 0) return false;     // both on the same outside side
+            int out = code1 != 0 ? code1 : code2;
+            float x, y;
+            if ((out & TOP) != 0) {
+                x = x1 + (x2 - x1) * (maxY - y1) / (y2 - y1); y = maxY;
+            } else if ((out & BOTTOM) != 0) {
+                x = x1 + (x2 - x1) * (0 - y1) / (y2 - y1); y = 0;
+            } else if ((out & RIGHT) != 0) {
+                y = y1 + (y2 - y1) * (maxX - x1) / (x2 - x1); x = maxX;
+            } else {
+                y = y1 + (y2 - y1) * (0 - x1) / (x2 - x1); x = 0;
+            }
+            if (out == code1) {
+                x1 = x; y1 = y; code1 = outCode(x1, y1, maxX, maxY);
+            } else {
+                x2 = x; y2 = y; code2 = outCode(x2, y2, maxX, maxY);
+            }
+        }
+        seg[0] = x1; seg[1] = y1; seg[2] = x2; seg[3] = y2;
+        return true;
+    }
+
+    private static int outCode(float x, float y, float maxX, float maxY) {
+        int code = INSIDE;
+        if (x < 0) code |= LEFT; else if (x > maxX) code |= RIGHT;
+        if (y < 0) code |= BOTTOM; else if (y > maxY) code |= TOP;
+        return code;
+    }
+
+    private void bresenham(int x0, int y0, int x1, int y1) {
+        int dx = Math.abs(x1 - x0), sx = x0 < x1 ? 1 : -1;
+        int dy = -Math.abs(y1 - y0), sy = y0 < y1 ? 1 : -1;
+        int err = dx + dy;
+        int[] px = pixels;
+        int w = width;
+        int c = color;
+        while (true) {
+            px[y0 * w + x0] = c;
+            if (x0 == x1 && y0 == y1) break;
+            int e2 = 2 * err;
+            if (e2 >= dy) { err += dy; x0 += sx; }
+            if (e2 <= dx) { err += dx; y0 += sy; }
+        }
+    }
+
+    public BufferedImage toImage() {
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        img.setRGB(0, 0, width, height, pixels, 0, width);
+        return img;
+    }
+
+    public void writePng(File file) throws IOException {
+        ImageIO.write(toImage(), "png", file);
+    }
+}
@@ -0,0 +1,237 @@
+package graphics;
+
+import utils.IntList;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Line target that rasterizes in parallel. Segments are clipped to the viewport and binned
+// into square screen tiles as they arrive; finish() then draws every tile on a ForkJoin pool.
+// Tiles own disjoint parts of the shared framebuffer, so workers never contend, and each tile
+// draws its segments in submission order, so overlapping lines resolve as in a serial pass.
+//
+// Pixels along a line come from a closed-form midpoint rule rather than an incremental walk,
+// so a tile can start drawing a line in the middle; binning uses the same rule and only hands
+// a tile the lines that really cross it.
+public class TiledRasterizer implements LineTarget {
+    public static final int TILE_SIZE = 64;
+    private static final int SPLIT_THRESHOLD = 2; // tiles per leaf task
+
+    private final int width, height;
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final int tilesX, tilesY;
+    private final IntList[] bins;
+    private final ForkJoinPool pool; // null when running on the calling thread only
+
+    // Clipped 1px segments of this frame: x0, y0, x1, y1, color
+    private int[] segments = new int[5 * 1024];
+    private int segmentCount;
+
+    private int color = 0xFFFFFFFF;
+    private int lineWidth = 1;
+    private int clearColor;
+    private boolean clearPending;
+    private final float[] clipScratch = new float[4];
+
+    public TiledRasterizer(int width, int height) {
+        this(width, height, Runtime.getRuntime().availableProcessors());
+    }
+
+    public TiledRasterizer(int width, int height, int parallelism) {
+        this.width = width;
+        this.height = height;
+        // The image is backed by the framebuffer itself, so presenting a frame needs no copy
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.tilesX = (width + TILE_SIZE - 1) / TILE_SIZE;
+        this.tilesY = (height + TILE_SIZE - 1) / TILE_SIZE;
+        this.bins = new IntList[tilesX * tilesY];
+        for (int i = 0; i < bins.length; i++) bins[i] = new IntList();
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    @Override
+    public int getWidth() { return width; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    public int getTileCount() { return bins.length; }
+
+    // Row-major pixels, width * height; complete only after finish()
+    public int[] getPixels() { return pixels; }
+
+    // The framebuffer as an image (shares its pixels); complete only after finish()
+    public BufferedImage getImage() { return image; }
+
+    // Clears the framebuffer as part of the next finish(), tile by tile
+    public void clear(int argb) {
+        clearColor = argb;
+        clearPending = true;
+    }
+
+    @Override
+    public void setColor(int argb) {
+        this.color = argb;
+    }
+
+    @Override
+    public void setLineWidth(int width) {
+        this.lineWidth = Math.max(width, 1);
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2) {
+        // Thick lines are parallel 1px lines offset across the minor axis, as in SoftwareRasterizer
+        boolean steep = Math.abs(y2 - y1) > Math.abs(x2 - x1);
+        int first = -(lineWidth - 1) / 2;
+        for (int k = first; k < first + lineWidth; k++) {
+            if (steep) addSegment(x1 + k, y1, x2 + k, y2);
+            else addSegment(x1, y1 + k, x2, y2 + k);
+        }
+    }
+
+    // Rasterizes every segment since the last finish() into the framebuffer
+    public void finish() {
+        if (pool != null) {
+            pool.invoke(new TileRange(0, bins.length));
+        } else {
+            for (int t = 0; t < bins.length; t++) drawTile(t);
+        }
+        for (IntList bin : bins) bin.clear();
+        segmentCount = 0;
+        clearPending = false;
+    }
+
+    // Stops the worker threads; the rasterizer must not be used afterwards
+    public void shutdown() {
+        if (pool != null) pool.shutdown();
+    }
+
+    private void addSegment(float x1, float y1, float x2, float y2) {
+        float[] seg = clipScratch;
+        seg[0] = x1; seg[1] = y1; seg[2] = x2; seg[3] = y2;
+        if (!SoftwareRasterizer.clipToViewport(seg, width - 1, height - 1)) return;
+
+        if (5 * segmentCount + 5 > segments.length) segments = Arrays.copyOf(segments, segments.length * 2);
+        int s = segmentCount++;
+        int o = 5 * s;
+        int ax = (int) seg[0], ay = (int) seg[1], bx = (int) seg[2], by = (int) seg[3];
+        segments[o] = ax;
+        segments[o + 1] = ay;
+        segments[o + 2] = bx;
+        segments[o + 3] = by;
+        segments[o + 4] = color;
+
+        // Most segments (distant cubes) sit inside one tile
+        int tx = ax / TILE_SIZE, ty = ay / TILE_SIZE;
+        if (tx == bx / TILE_SIZE && ty == by / TILE_SIZE) {
+            bins[ty * tilesX + tx].add(s);
+            return;
+        }
+
+        // Otherwise walk the tile columns (or rows, for steep lines) the segment spans and add it
+        // to the tiles between where it enters and leaves each one
+        boolean xMajor = Math.abs(bx - ax) >= Math.abs(by - ay);
+        int majorA = xMajor ? ax : ay, majorB = xMajor ? bx : by;
+        int lo = Math.min(majorA, majorB), hi = Math.max(majorA, majorB);
+        for (int band = lo / TILE_SIZE; band <= hi / TILE_SIZE; band++) {
+            int from = Math.max(lo, band * TILE_SIZE);
+            int to = Math.min(hi, band * TILE_SIZE + TILE_SIZE - 1);
+            int minorFrom = minorAt(o, xMajor, from);
+            int minorTo = minorAt(o, xMajor, to);
+            int firstTile = Math.min(minorFrom, minorTo) / TILE_SIZE;
+            int lastTile = Math.max(minorFrom, minorTo) / TILE_SIZE;
+            for (int m = firstTile; m <= lastTile; m++) {
+                bins[xMajor ? m * tilesX + band : band * tilesX + m].add(s);
+            }
+        }
+    }
+
+    // Minor-axis coordinate of the pixel the segment at offset o lights at major coordinate major
+    private int minorAt(int o, boolean xMajor, int major) {
+        int[] sg = segments;
+        int ma = xMajor ? sg[o] : sg[o + 1], mb = xMajor ? sg[o + 2] : sg[o + 3];
+        int na = xMajor ? sg[o + 1] : sg[o], nb = xMajor ? sg[o + 3] : sg[o + 2];
+        int dMajor = Math.abs(mb - ma);
+        if (dMajor == 0) return na;
+        int k = Math.abs(major - ma);
+        int step = (2 * k * Math.abs(nb - na) + dMajor) / (2 * dMajor);
+        return nb >= na ? na + step : na - step;
+    }
+
+    private void drawTile(int t) {
+        int x0 = (t % tilesX) * TILE_SIZE, y0 = (t / tilesX) * TILE_SIZE;
+        int x1 = Math.min(x0 + TILE_SIZE, width) - 1, y1 = Math.min(y0 + TILE_SIZE, height) - 1;
+        int[] px = pixels;
+        int w = width;
+        if (clearPending) {
+            for (int y = y0; y <= y1; y++) Arrays.fill(px, y * w + x0, y * w + x1 + 1, clearColor);
+        }
+        IntList bin = bins[t];
+        int[] sg = segments;
+        for (int i = 0; i < bin.size(); i++) {
+            int o = 5 * bin.get(i);
+            int ax = sg[o], ay = sg[o + 1], bx = sg[o + 2], by = sg[o + 3], c = sg[o + 4];
+            int dx = Math.abs(bx - ax), dy = Math.abs(by - ay);
+            int sx = bx >= ax ? 1 : -1, sy = by >= ay ? 1 : -1;
+            if (dx >= dy) {
+                if (dx == 0) {
+                    if (ax >= x0 && ax <= x1 && ay >= y0 && ay <= y1) px[ay * w + ax] = c;
+                    continue;
+                }
+                // Steps k along x that fall inside this tile's columns
+                int kFrom = sx > 0 ? Math.max(x0 - ax, 0) : Math.max(ax - x1, 0);
+                int kTo = sx > 0 ? Math.min(x1 - ax, dx) : Math.min(ax - x0, dx);
+                // y offset is (2*k*dy + dx) / (2*dx), advanced incrementally from kFrom
+                int den = 2 * dx;
+                int num = 2 * kFrom * dy + dx;
+                int q = num / den, r = num % den;
+                for (int k = kFrom; k <= kTo; k++) {
+                    int y = ay + sy * q;
+                    if (y >= y0 && y <= y1) px[y * w + ax + sx * k] = c;
+                    r += 2 * dy;
+                    if (r >= den) { r -= den; q++; }
+                }
+            } else {
+                int kFrom = sy > 0 ? Math.max(y0 - ay, 0) : Math.max(ay - y1, 0);
+                int kTo = sy > 0 ? Math.min(y1 - ay, dy) : Math.min(ay - y0, dy);
+                int den = 2 * dy;
+                int num = 2 * kFrom * dx + dy;
+                int q = num / den, r = num % den;
+                for (int k = kFrom; k <= kTo; k++) {
+                    int x = ax + sx * q;
+                    if (x >= x0 && x <= x1) px[(ay + sy * k) * w + x] = c;
+                    r += 2 * dx;
+                    if (r >= den) { r -= den; q++; }
+                }
+            }
+        }
+    }
+
+    // Splits the tile range until it is small enough to draw directly
+    private final class TileRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+
+        TileRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int t = from; t < to; t++) drawTile(t);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TileRange(from, mid), new TileRange(mid, to));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package graphics;
+
+import engine.VoxelShape;
+import utils.IntList;
+
+// Wireframe geometry as a vertex buffer (x, y, z per vertex, in model space around the
+// object's center) and an edge index buffer (two vertex indices per edge), with a line
+// width per edge. SceneRenderer transforms each vertex once per draw and then walks the edges.
+//
+// Edges of closed solids also record the two surface faces that meet at them, as axis-aligned
+// face codes (FACE_POS_X .. FACE_NEG_Z) whose plane passes through the edge. An edge is hidden
+// when both faces point away from the camera; NO_FACE marks edges that are always drawn.
+public final class WireMesh {
+    public static final int NO_FACE = -1;
+    // Face code = 2 * axis (x, y, z = 0, 1, 2), plus 1 when the outward normal is negative
+    public static final int FACE_POS_X = 0, FACE_NEG_X = 1, FACE_POS_Y = 2, FACE_NEG_Y = 3,
+                            FACE_POS_Z = 4, FACE_NEG_Z = 5;
+
+    final float[] vertices;
+    final int[] edges;
+    final int[] edgeWidths;
+    final int[] edgeFaces; // two face codes per edge
+
+    public WireMesh(float[] vertices, int[] edges, int[] edgeWidths) {
+        this(vertices, edges, edgeWidths, null);
+    }
+
+    // edgeFaces may be null when every edge should always be drawn
+    public WireMesh(float[] vertices, int[] edges, int[] edgeWidths, int[] edgeFaces) {
+        if (vertices.length % 3 != 0) throw new IllegalArgumentException("vertices must be x, y, z triples");
+        if (edges.length != 2 * edgeWidths.length) throw new IllegalArgumentException("one width per edge");
+        if (edgeFaces == null) {
+            edgeFaces = new int[edges.length];
+            java.util.Arrays.fill(edgeFaces, NO_FACE);
+        }
+        if (edgeFaces.length != edges.length) throw new IllegalArgumentException("two faces per edge");
+        this.vertices = vertices;
+        this.edges = edges;
+        this.edgeWidths = edgeWidths;
+        this.edgeFaces = edgeFaces;
+    }
+
+    public int getVertexCount() { return vertices.length / 3; }
+    public int getEdgeCount() { return edgeWidths.length; }
+
+    // Unit box centered at the origin; draw it with a scale to get a cube of any size
+    public static WireMesh unitBox() {
+        return box(1f, 1f, 1f, 1, 0);
+    }
+
+    // Box of the given size with edges drawn at edgeWidth, plus wireCount - 1 evenly spaced
+    // thin lines each way across the top face
+    public static WireMesh box(float width, float height, float depth, int edgeWidth, int wireCount) {
+        int wires = Math.max(wireCount - 1, 0);
+        float[] v = new float[3 * (8 + 4 * wires)];
+        int[] e = new int[2 * (12 + 2 * wires)];
+        int[] widths = new int[12 + 2 * wires];
+        int[] faces = new int[e.length];
+
+        // Corner order: back face (z-) 0..3, front face (z+) 4..7; 2, 3, 6, 7 are the top
+        float[][] corners = {
+            {-0.5f, -0.5f, -0.5f}, {0.5f, -0.5f, -0.5f}, {0.5f, 0.5f, -0.5f}, {-0.5f, 0.5f, -0.5f},
+            {-0.5f, -0.5f, 0.5f},  {0.5f, -0.5f, 0.5f},  {0.5f, 0.5f, 0.5f},  {-0.5f, 0.5f, 0.5f}
+        };
+        for (int i = 0; i < 8; i++) {
+            v[3 * i] = corners[i][0] * width;
+            v[3 * i + 1] = corners[i][1] * height;
+            v[3 * i + 2] = corners[i][2] * depth;
+        }
+        int[] boxEdges = {
+            0,1, 1,2, 2,3, 3,0, // back face
+            4,5, 5,6, 6,7, 7,4, // front face
+            0,4, 1,5, 2,6, 3,7  // connections
+        };
+        System.arraycopy(boxEdges, 0, e, 0, boxEdges.length);
+        java.util.Arrays.fill(widths, 0, 12, edgeWidth);
+        // A box edge lies on the two faces whose axes both its corners share a side of
+        for (int i = 0; i < 12; i++) {
+            float[] a = corners[boxEdges[2 * i]], b = corners[boxEdges[2 * i + 1]];
+            int k = 0;
+            for (int axis = 0; axis < 3; axis++) {
+                if (a[axis] == b[axis]) faces[2 * i + k++] = 2 * axis + (a[axis] < 0 ? 1 : 0);
+            }
+        }
+        // The wires lie on the top face only
+        java.util.Arrays.fill(faces, 24, faces.length, FACE_POS_Y);
+
+        // Top face wires: first across 3-2 to 7-6, then across 3-7 to 2-6
+        int vi = 8, ei = 12;
+        for (int i = 1; i <= wires; i++) {
+            float t = i / (float) wireCount;
+            ei = addWire(v, e, widths, vi, ei, lerp(v, 3, 2, t), lerp(v, 7, 6, t));
+            vi += 2;
+        }
+        for (int i = 1; i <= wires; i++) {
+            float t = i / (float) wireCount;
+            ei = addWire(v, e, widths, vi, ei, lerp(v, 3, 7, t), lerp(v, 2, 6, t));
+            vi += 2;
+        }
+        return new WireMesh(v, e, widths, faces);
+    }
+
+    // Flat grid on y = 0 with gridX + 1 lines along Z and gridZ + 1 lines along X
+    public static WireMesh groundGrid(int gridX, int gridZ, float spacing) {
+        int halfX = gridX / 2;
+        int halfZ = gridZ / 2;
+        int lines = (2 * halfX + 1) + (2 * halfZ + 1);
+        float[] v = new float[3 * 2 * lines];
+        int[] e = new int[2 * lines];
+        int[] widths = new int[lines];
+        int vi = 0, ei = 0;
+        for (int x = -halfX; x <= halfX; x++) {
+            ei = addWire(v, e, widths, vi, ei,
+                new float[] {x * spacing, 0, -halfZ * spacing}, new float[] {x * spacing, 0, halfZ * spacing});
+            vi += 2;
+        }
+        for (int z = -halfZ; z <= halfZ; z++) {
+            ei = addWire(v, e, widths, vi, ei,
+                new float[] {-halfX * spacing, 0, z * spacing}, new float[] {halfX * spacing, 0, z * spacing});
+            vi += 2;
+        }
+        return new WireMesh(v, e, widths);
+    }
+
+    // Outer edges of a voxel cluster with the given voxel size, centered on its bounding box.
+    // A grid edge is kept when the four voxels around it do not form a flat surface: one or
+    // three of them filled, or two diagonal ones. Collinear kept edges with the same faces are
+    // merged into one line.
+    public static WireMesh voxelOutline(VoxelShape shape, float voxelSize) {
+        int[] size = {shape.getSizeX(), shape.getSizeY(), shape.getSizeZ()};
+        if (shape.getVoxelCount() == 1 && size[0] == 1 && size[1] == 1 && size[2] == 1) {
+            return box(voxelSize, voxelSize, voxelSize, 1, 0);
+        }
+        int cornersX = size[0] + 1, cornersZ = size[2] + 1;
+        int[] vertexOf = new int[cornersX * (size[1] + 1) * cornersZ];
+        java.util.Arrays.fill(vertexOf, -1);
+        IntList corners = new IntList(); // lattice corner index per vertex
+        IntList edges = new IntList();
+        IntList faces = new IntList();
+
+        int[] c = new int[3]; // x, y, z of the voxel being probed
+        for (int a = 0; a < 3; a++) {
+            int b = (a + 1) % 3, d = (a + 2) % 3;
+            for (int u = 0; u <= size[b]; u++) {
+                for (int v = 0; v <= size[d]; v++) {
+                    int runStart = -1, runFaceB = NO_FACE, runFaceD = NO_FACE;
+                    for (int i = 0; i <= size[a]; i++) {
+                        boolean crease = false;
+                        int faceB = NO_FACE, faceD = NO_FACE;
+                        if (i < size[a]) {
+                            // The four voxels around the edge, in order around it
+                            c[a] = i;
+                            c[b] = u - 1; c[d] = v - 1; boolean o0 = shape.isOccupied(c[0], c[1], c[2]);
+                            c[b] = u;                   boolean o1 = shape.isOccupied(c[0], c[1], c[2]);
+                            c[d] = v;                   boolean o2 = shape.isOccupied(c[0], c[1], c[2]);
+                            c[b] = u - 1;               boolean o3 = shape.isOccupied(c[0], c[1], c[2]);
+                            int filled = (o0 ? 1 : 0) + (o1 ? 1 : 0) + (o2 ? 1 : 0) + (o3 ? 1 : 0);
+                            crease = filled == 1 || filled == 3 || (filled == 2 && o0 == o2);
+                            if (filled == 1 || filled == 3) {
+                                // The odd one out: the lone filled voxel on an outer edge, or the
+                                // lone empty cell on an inner one. Either way both faces sit between
+                                // it and its neighbours, facing away from a lone filled voxel and
+                                // toward a lone empty cell.
+                                boolean lone = filled == 1;
+                                boolean lowB, lowD; // is the odd cell on the low side of the edge along b / d
+                                if (o0 == lone) { lowB = true; lowD = true; }
+                                else if (o1 == lone) { lowB = false; lowD = true; }
+                                else if (o2 == lone) { lowB = false; lowD = false; }
+                                else { lowB = true; lowD = false; }
+                                faceB = 2 * b + (lowB == lone ? 0 : 1);
+                                faceD = 2 * d + (lowD == lone ? 0 : 1);
+                            }
+                        }
+                        boolean continues = crease && runStart >= 0 && faceB == runFaceB && faceD == runFaceD;
+                        if (runStart >= 0 && !continues) {
+                            c[b] = u; c[d] = v;
+                            c[a] = runStart;
+                            edges.add(outlineVertex(vertexOf, corners, c, cornersX, cornersZ));
+                            c[a] = i;
+                            edges.add(outlineVertex(vertexOf, corners, c, cornersX, cornersZ));
+                            faces.add(runFaceB);
+                            faces.add(runFaceD);
+                            runStart = -1;
+                        }
+                        if (crease && runStart < 0) {
+                            runStart = i;
+                            runFaceB = faceB;
+                            runFaceD = faceD;
+                        }
+                    }
+                }
+            }
+        }
+
+        float[] v = new float[3 * corners.size()];
+        for (int i = 0; i < corners.size(); i++) {
+            int corner = corners.get(i);
+            int x = corner % cornersX, z = (corner / cornersX) % cornersZ, y = corner / (cornersX * cornersZ);
+            v[3 * i] = (x - size[0] / 2f) * voxelSize;
+            v[3 * i + 1] = (y - size[1] / 2f) * voxelSize;
+            v[3 * i + 2] = (z - size[2] / 2f) * voxelSize;
+        }
+        int[] e = new int[edges.size()];
+        for (int i = 0; i < e.length; i++) e[i] = edges.get(i);
+        int[] widths = new int[e.length / 2];
+        java.util.Arrays.fill(widths, 1);
+        int[] f = new int[faces.size()];
+        for (int i = 0; i < f.length; i++) f[i] = faces.get(i);
+        return new WireMesh(v, e, widths, f);
+    }
+
+    private static int outlineVertex(int[] vertexOf, IntList corners, int[] c, int cornersX, int cornersZ) {
+        int corner = (c[1] * cornersZ + c[2]) * cornersX + c[0];
+        if (vertexOf[corner] < 0) {
+            vertexOf[corner] = corners.size();
+            corners.add(corner);
+        }
+        return vertexOf[corner];
+    }
+
+    private static int addWire(float[] v, int[] e, int[] widths, int vi, int ei, float[] a, float[] b) {
+        System.arraycopy(a, 0, v, 3 * vi, 3);
+        System.arraycopy(b, 0, v, 3 * (vi + 1), 3);
+        e[2 * ei] = vi;
+        e[2 * ei + 1] = vi + 1;
+        widths[ei] = 1;
+        return ei + 1;
+    }
+
+    private static float[] lerp(float[] v, int a, int b, float t) {
+        float[] out = new float[3];
+        for (int k = 0; k < 3; k++) out[k] = v[3 * a + k] * (1 - t) + v[3 * b + k] * t;
+        return out;
+    }
+}
@@ -0,0 +1,33 @@
+package input;
+
+import java.awt.event.KeyEvent;
+
+// Live input: the game keys from the InputHandler and the look delta gathered by MouseLook.
+// Call InputHandler.processInput() before each next() so taps since the last tick count.
+public class DeviceInput implements InputSource {
+    // Key code for each TickInput bit, in bit order
+    private static final int[] KEY_CODES = {
+        KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_UP, KeyEvent.VK_DOWN,
+        KeyEvent.VK_W, KeyEvent.VK_A, KeyEvent.VK_S, KeyEvent.VK_D, KeyEvent.VK_SPACE
+    };
+
+    private final InputHandler keys;
+    private final MouseLook mouse;
+
+    public DeviceInput(InputHandler keys, MouseLook mouse) {
+        this.keys = keys;
+        this.mouse = mouse;
+    }
+
+    @Override
+    public boolean next(TickInput input) {
+        int bits = 0;
+        for (int i = 0; i < KEY_CODES.length; i++) {
+            // Held now, or tapped since the previous tick
+            if (keys.isKeyActive(KEY_CODES[i])) bits |= 1 << i;
+        }
+        long delta = mouse.takeDelta();
+        input.set(bits, MouseLook.deltaX(delta), MouseLook.deltaY(delta));
+        return true;
+    }
+}
@@ -2,12 +2,27 @@ package input;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import javax.swing.SwingUtilities;
 
+// Keyboard state shared between the EDT (which receives key events) and the game loop.
+// Held keys live in an atomic bitset indexed by key code, so polling is lock- and
+// allocation-free. Every press and release is also queued with its timestamp; the loop drains
+// the queue once per tick in processInput(), which lets a tick see keys that were pressed and
+// released again before it ran, and tells it how long the oldest event waited.
 public class InputHandler implements KeyListener {
-    private final Set<Integer> pressedKeys = new HashSet<>();
+    private static final int KEY_CODE_LIMIT = 1 << 16; // key codes are 16-bit
+    private static final int QUEUE_CAPACITY = 256;
+
+    private final AtomicLongArray heldKeys = new AtomicLongArray(KEY_CODE_LIMIT / 64);
+    private final KeyEventQueue keyEvents = new KeyEventQueue(QUEUE_CAPACITY);
+    // nanoTime of the oldest other input event (mouse) not yet taken by the game loop, 0 when none
+    private final AtomicLong pendingEventNanos = new AtomicLong();
+
+    // Game loop only: keys pressed in the events drained by the last processInput()
+    private final int[] pressedCodes = new int[QUEUE_CAPACITY];
+    private int pressedCount;
 
     public InputHandler() {
         // Attach this KeyListener to the main frame if available
@@ -15,22 +30,61 @@ public class InputHandler implements KeyListener {
         // You may need to expose a method in Renderer to add this listener
     }
 
-    public void processInput() {
-        // No-op for now; input is handled via KeyListener events
+    // Game loop, once per tick: drains the queued key events and returns the time of the oldest
+    // input event (key or noted mouse event) since the previous call, or 0 if there was none
+    public long processInput() {
+        pressedCount = 0;
+        long oldest = pendingEventNanos.getAndSet(0);
+        while (keyEvents.poll()) {
+            int event = keyEvents.polledEvent();
+            long nanos = keyEvents.polledNanos();
+            if (oldest == 0 || nanos - oldest < 0) oldest = nanos;
+            // More presses than fit can only arrive while we drain; they show up as held anyway
+            if ((event & KeyEventQueue.PRESSED) != 0 && pressedCount < pressedCodes.length) {
+                pressedCodes[pressedCount++] = event & 0xFFFF;
+            }
+        }
+        return oldest;
     }
 
     public boolean isKeyPressed(int keyCode) {
-        return pressedKeys.contains(keyCode);
+        if (keyCode < 0 || keyCode >= KEY_CODE_LIMIT) return false;
+        return (heldKeys.get(keyCode >>> 6) & (1L << keyCode)) != 0;
+    }
+
+    // True if the key went down in the events drained by the last processInput(), even if it
+    // has already been released again. Key repeat while held does not count.
+    public boolean wasPressed(int keyCode) {
+        for (int i = 0; i < pressedCount; i++) {
+            if (pressedCodes[i] == keyCode) return true;
+        }
+        return false;
+    }
+
+    // Held now, or pressed at some point since the previous tick
+    public boolean isKeyActive(int keyCode) {
+        return isKeyPressed(keyCode) || wasPressed(keyCode);
+    }
+
+    // Called from other input listeners; keeps the earliest timestamp until the loop takes it
+    public void noteEvent(long nanos) {
+        pendingEventNanos.compareAndSet(0, nanos);
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
-        pressedKeys.add(e.getKeyCode());
+        int code = e.getKeyCode();
+        if (code < 0 || code >= KEY_CODE_LIMIT) return;
+        // Only the transition to held is an event; auto-repeat presses are not queued. If the
+        // queue is full the event is dropped, but the held state above stays exact.
+        if (setHeld(code, true)) keyEvents.offer(code | KeyEventQueue.PRESSED, System.nanoTime());
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
-        pressedKeys.remove(e.getKeyCode());
+        int code = e.getKeyCode();
+        if (code < 0 || code >= KEY_CODE_LIMIT) return;
+        if (setHeld(code, false)) keyEvents.offer(code, System.nanoTime());
     }
 
     @Override
@@ -42,4 +96,16 @@ public class InputHandler implements KeyListener {
     public void attachToFrame(javax.swing.JFrame frame) {
         SwingUtilities.invokeLater(() -> frame.addKeyListener(this));
     }
-}
\ No newline at end of file
+
+    // Sets or clears the key's bit and returns whether it changed
+    private boolean setHeld(int keyCode, boolean held) {
+        int word = keyCode >>> 6;
+        long bit = 1L << keyCode;
+        while (true) {
+            long old = heldKeys.get(word);
+            long updated = held ? old | bit : old & ~bit;
+            if (old == updated) return false;
+            if (heldKeys.compareAndSet(word, old, updated)) return true;
+        }
+    }
+}
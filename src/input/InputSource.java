@@ -0,0 +1,8 @@
+package input;
+
+// Where the simulation's input comes from, one tick at a time: the keyboard and mouse, a
+// recording, or a scripted player. Implementations need no display unless they read devices.
+public interface InputSource {
+    // Fills in the next tick's input; returns false if the source has run out of ticks
+    boolean next(TickInput input);
+}
@@ -0,0 +1,53 @@
+package input;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded single-producer/single-consumer ring of timestamped key events: the EDT offers,
+// the game loop polls, and neither side locks or allocates. Each index is only advanced by
+// its own side and published with a release store (lazySet), so a slot is fully written before
+// the consumer can see it and fully read before the producer can reuse it.
+final class KeyEventQueue {
+    static final int PRESSED = 1 << 16; // or'ed into the key code for presses
+
+    private final long[] times;
+    private final int[] events; // key code, plus PRESSED for presses
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next slot to read, advanced by the consumer
+    private final AtomicLong tail = new AtomicLong(); // next slot to write, advanced by the producer
+
+    // Consumer side: the event taken by the last successful poll()
+    private int polledEvent;
+    private long polledNanos;
+
+    KeyEventQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("capacity must be a power of two");
+        times = new long[capacity];
+        events = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    // Producer only. Returns false (and drops the event) when the consumer is a full ring behind.
+    boolean offer(int event, long nanos) {
+        long t = tail.get();
+        if (t - head.get() == times.length) return false;
+        int i = (int) t & mask;
+        times[i] = nanos;
+        events[i] = event;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // Consumer only. Takes the oldest event, readable through polledEvent()/polledNanos().
+    boolean poll() {
+        long h = head.get();
+        if (h == tail.get()) return false;
+        int i = (int) h & mask;
+        polledEvent = events[i];
+        polledNanos = times[i];
+        head.lazySet(h + 1);
+        return true;
+    }
+
+    int polledEvent() { return polledEvent; }
+    long polledNanos() { return polledNanos; }
+}
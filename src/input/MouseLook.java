@@ -0,0 +1,185 @@
+package input;
+
+import java.awt.Component;
+import java.awt.MouseInfo;
+import java.awt.Point;
+import java.awt.PointerInfo;
+import java.awt.Robot;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.HierarchyBoundsAdapter;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Relative mouse movement for camera look. The EDT only adds each event's offset from the
+// previous pointer position to an accumulator; the game loop takes the sum once per tick and
+// warps the pointer back to the middle of the component at most once per frame. The warp
+// target is computed from a screen origin cached until the component or its window moves.
+// Events are always measured from the previous event; the jump a warp adds to that stream is
+// taken back out once, on the first event stamped at or after the warp.
+public class MouseLook extends MouseAdapter {
+    // A warp that no event has confirmed yet stops blocking new warps after this many frames
+    private static final int WARP_TIMEOUT_FRAMES = 4;
+
+    private final Component component;
+    private final Robot robot; // null when the platform can't move the pointer
+    private final InputHandler inputHandler; // told about each move, for input latency
+
+    // dx in the high and dy in the low 32 bits; one atomic add per event, no lock
+    private final AtomicLong pendingDelta = new AtomicLong();
+
+    // Last pointer position in component coordinates; EDT writes, the game loop reads
+    private volatile int lastX, lastY;
+    private volatile boolean hasLast;
+    // Set by the game loop before warping. The warp moves the pointer by warpJump (packed like
+    // pendingDelta) without the user's help; the first event with getWhen() >= warpWhen carries
+    // that jump, whether it is the warp's own event or a later move AWT merged it into. Events
+    // already queued when the warp was issued are older and measured as usual.
+    private volatile boolean warpPending;
+    private volatile long warpWhen;
+    private final AtomicLong warpJump = new AtomicLong();
+
+    // Screen position of the component's top-left corner, refreshed on the EDT
+    private volatile int originX, originY;
+    private volatile boolean originValid;
+
+    // Game loop only
+    private int warpAge;
+    private long warps;
+
+    public MouseLook(Component component, Robot robot, InputHandler inputHandler) {
+        this.component = component;
+        this.robot = robot;
+        this.inputHandler = inputHandler;
+    }
+
+    // Registers the listeners; call on the EDT or before the component is shown
+    public void attach() {
+        component.addMouseListener(this);
+        component.addMouseMotionListener(this);
+        ComponentAdapter originListener = new ComponentAdapter() {
+            @Override public void componentMoved(ComponentEvent e) { refreshOrigin(); }
+            @Override public void componentResized(ComponentEvent e) { refreshOrigin(); }
+            @Override public void componentShown(ComponentEvent e) { refreshOrigin(); }
+        };
+        component.addComponentListener(originListener);
+        // Window moves don't move the component within it, so listen on the window as well
+        component.addHierarchyBoundsListener(new HierarchyBoundsAdapter() {
+            @Override public void ancestorMoved(HierarchyEvent e) { refreshOrigin(); }
+            @Override public void ancestorResized(HierarchyEvent e) { refreshOrigin(); }
+        });
+        component.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) refreshOrigin();
+        });
+    }
+
+    // Game loop, once per tick: movement since the previous call as dx in the high and dy in
+    // the low 32 bits; split it with deltaX()/deltaY()
+    public long takeDelta() {
+        return pendingDelta.getAndSet(0);
+    }
+
+    public static int deltaX(long delta) {
+        return (int) ((delta - (int) delta) >> 32);
+    }
+
+    public static int deltaY(long delta) {
+        return (int) delta;
+    }
+
+    // Drops movement that no tick should see (menus, session start)
+    public void clear() {
+        pendingDelta.set(0);
+    }
+
+    // Game loop, at most once per frame: puts the pointer back in the middle of the component
+    // if it has moved off it since the last warp
+    public void recenter() {
+        if (robot == null || !originValid || !hasLast) return;
+        if (warpPending && ++warpAge < WARP_TIMEOUT_FRAMES) return;
+        int cx = component.getWidth() / 2;
+        int cy = component.getHeight() / 2;
+        if (lastX == cx && lastY == cy) return;
+        // lastX/lastY lag behind moves the EDT hasn't handled yet; the jump has to start from
+        // where the pointer really is
+        PointerInfo pointer = MouseInfo.getPointerInfo();
+        Point p = pointer != null ? pointer.getLocation() : null;
+        int fromX = p != null ? p.x - originX : lastX;
+        int fromY = p != null ? p.y - originY : lastY;
+        noteWarp(fromX, fromY, cx, cy, System.currentTimeMillis());
+        robot.mouseMove(originX + cx, originY + cy);
+        warps++;
+    }
+
+    // Records a warp from (fromX, fromY) to (toX, toY), component coordinates, issued at the
+    // given event time; recenter() calls this just before moving the pointer
+    void noteWarp(int fromX, int fromY, int toX, int toY, long when) {
+        warpWhen = when;
+        warpJump.getAndAdd(((long) (toX - fromX) << 32) + (toY - fromY));
+        warpPending = true;
+        warpAge = 0;
+    }
+
+    // Pointer warps issued so far
+    public long getWarpCount() {
+        return warps;
+    }
+
+    @Override
+    public void mouseMoved(MouseEvent e) {
+        track(e);
+    }
+
+    @Override
+    public void mouseDragged(MouseEvent e) {
+        track(e);
+    }
+
+    @Override
+    public void mouseEntered(MouseEvent e) {
+        // The pointer jumped in from outside, there is no meaningful delta to its old position
+        lastX = e.getX();
+        lastY = e.getY();
+        hasLast = true;
+        warpJump.set(0);
+        warpPending = false;
+    }
+
+    private void track(MouseEvent e) {
+        int x = e.getX(), y = e.getY();
+        long dx, dy;
+        if (hasLast) {
+            dx = x - lastX;
+            dy = y - lastY;
+        } else {
+            dx = dy = 0;
+        }
+        if (warpPending && e.getWhen() >= warpWhen) {
+            // Our own warp moved the pointer this far, not the user
+            warpPending = false;
+            long jump = warpJump.getAndSet(0);
+            dx -= deltaX(jump);
+            dy -= deltaY(jump);
+        }
+        if (dx != 0 || dy != 0) {
+            inputHandler.noteEvent(System.nanoTime());
+            pendingDelta.getAndAdd((dx << 32) + dy);
+        }
+        lastX = x;
+        lastY = y;
+        hasLast = true;
+    }
+
+    private void refreshOrigin() {
+        if (!component.isShowing()) {
+            originValid = false;
+            return;
+        }
+        Point p = component.getLocationOnScreen();
+        originX = p.x;
+        originY = p.y;
+        originValid = true;
+    }
+}
@@ -0,0 +1,30 @@
+package input;
+
+// Everything the simulation reads from the player in one tick: the held game keys as a
+// bitmask plus the mouse-look delta gathered since the previous tick. Small enough to record,
+// and free of AWT so the simulation can run headless; DeviceInput fills it from the devices.
+public class TickInput {
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int UP = 1 << 2;
+    public static final int DOWN = 1 << 3;
+    public static final int W = 1 << 4;
+    public static final int A = 1 << 5;
+    public static final int S = 1 << 6;
+    public static final int D = 1 << 7;
+    public static final int SPACE = 1 << 8;
+
+    private int keys;
+    private int mouseDX, mouseDY;
+
+    public boolean isDown(int key) { return (keys & key) != 0; }
+    public int getKeys() { return keys; }
+    public int getMouseDX() { return mouseDX; }
+    public int getMouseDY() { return mouseDY; }
+
+    public void set(int keys, int mouseDX, int mouseDY) {
+        this.keys = keys;
+        this.mouseDX = mouseDX;
+        this.mouseDY = mouseDY;
+    }
+}
@@ -1,18 +1,18 @@
 package objects;
 
-import java.awt.Color;
-
 public class GameObject {
     protected float x, y, z;
-    protected Color color;
+    protected int color; // ARGB
     protected float velocityX = 0f, velocityY = 0f, velocityZ = 0f;
-    public GameObject pairedWith = null;
+    // Position at the start of the current tick, used to interpolate between ticks when rendering
+    protected float prevX, prevY, prevZ;
 
-    public GameObject(float x, float y, float z, Color color) {
+    public GameObject(float x, float y, float z, int color) {
         this.x = x;
         this.y = y;
         this.z = z;
         this.color = color;
+        storePreviousPosition();
     }
 
     public float getX() { return x; }
@@ -21,8 +21,8 @@ public class GameObject {
     public void setX(float x) { this.x = x; }
     public void setY(float y) { this.y = y; }
     public void setZ(float z) { this.z = z; }
-    public Color getColor() { return color; }
-    public void setColor(Color color) { this.color = color; }
+    public int getColor() { return color; }
+    public void setColor(int color) { this.color = color; }
 
     public float getVelocityX() { return velocityX; }
     public void setVelocityX(float vx) { this.velocityX = vx; }
@@ -30,4 +30,17 @@ public class GameObject {
     public void setVelocityY(float vy) { this.velocityY = vy; }
     public float getVelocityZ() { return velocityZ; }
     public void setVelocityZ(float vz) { this.velocityZ = vz; }
+
+    public void storePreviousPosition() {
+        prevX = x;
+        prevY = y;
+        prevZ = z;
+    }
+    public float getPreviousX() { return prevX; }
+    public float getPreviousY() { return prevY; }
+    public float getPreviousZ() { return prevZ; }
+    // alpha is how far we are between the previous tick (0) and the current one (1)
+    public float getRenderX(float alpha) { return prevX + (x - prevX) * alpha; }
+    public float getRenderY(float alpha) { return prevY + (y - prevY) * alpha; }
+    public float getRenderZ(float alpha) { return prevZ + (z - prevZ) * alpha; }
 }
\ No newline at end of file
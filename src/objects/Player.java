@@ -1,13 +1,11 @@
 package objects;
 
-import java.awt.Color;
-
 public class Player extends GameObject {
     public static final float SIZE = 20f;
     private float velocityY = 0f;
 
     public Player(float x, float y, float z) {
-        super(x, y, z, Color.BLUE);
+        super(x, y, z, 0xFF0000FF); // blue
     }
 
     public float getHalfSize() { return SIZE / 2f; }
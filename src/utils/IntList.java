@@ -0,0 +1,46 @@
+package utils;
+
+import java.util.Arrays;
+
+// Growable list of primitive ints, so hot paths don't box into List<Integer>
+public class IntList {
+    private int[] data;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int initialCapacity) {
+        data = new int[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(int value) {
+        if (size == data.length) data = Arrays.copyOf(data, size * 2);
+        data[size++] = value;
+    }
+
+    public void addAll(IntList other) {
+        if (size + other.size > data.length) data = Arrays.copyOf(data, Math.max(size + other.size, size * 2));
+        System.arraycopy(other.data, 0, data, size, other.size);
+        size += other.size;
+    }
+
+    public int get(int i) { return data[i]; }
+    public void set(int i, int value) { data[i] = value; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public void clear() { size = 0; }
+
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) return i;
+        }
+        return -1;
+    }
+
+    // Removes element i by moving the last element into its slot (order is not kept)
+    public void swapRemove(int i) {
+        data[i] = data[--size];
+    }
+}
@@ -0,0 +1,64 @@
+package graphics;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import engine.CubeStore;
+import objects.Player;
+import objects.RectangularPrismWithWireframe;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+// Regression guard for the allocation-free paint path: paints the PaintBenchmark scene offscreen
+// and fails if a frame allocates more than the budget on the painting thread. For the same
+// numbers under JMH, run PaintBenchmark with -prof gc and read gc.alloc.rate.norm.
+class PaintAllocationTest {
+    private static final int WIDTH = 1280, HEIGHT = 720;
+    private static final int WARMUP_FRAMES = 300;
+    private static final int FRAMES = 100;
+    // Java2D's wide-stroke path allocates a little per frame on its own; anything that scales with
+    // the cube count (a float[] per vertex, a boxed value per edge) blows well past this
+    private static final long BUDGET_BYTES_PER_FRAME = 1536;
+
+    @ParameterizedTest(name = "{0} cubes, batched {1}")
+    @CsvSource({"100, true", "100, false", "1000, true", "1000, false", "10000, true", "10000, false"})
+    void paintStaysWithinBudget(int cubes, boolean batched) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per-thread allocation counting is not supported by this JVM");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        CubeStore store = new CubeStore(cubes);
+        Random random = new Random(42);
+        for (int i = 0; i < cubes; i++) {
+            store.add((random.nextFloat() - 0.5f) * 3200f, 340f + random.nextFloat() * 200f,
+                (random.nextFloat() - 0.5f) * 3200f, 0f, 0f, 0xFFFF0000);
+        }
+        Renderer renderer = new Renderer();
+        renderer.setSize(WIDTH, HEIGHT);
+        renderer.setCamera(0f, 398f, 188f, 180f, 20f);
+        renderer.setPlatform(new RectangularPrismWithWireframe(0, 300f, 0, 240, 40, 240, 0xFF00FF00));
+        renderer.setPlayer(new Player(0, 330f, 0));
+        renderer.setCubesToRender(store);
+        renderer.setBatchedLines(batched);
+        Graphics2D graphics = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+
+        try {
+            for (int i = 0; i < WARMUP_FRAMES; i++) renderer.paint(graphics);
+            long thread = Thread.currentThread().getId();
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < FRAMES; i++) renderer.paint(graphics);
+            long perFrame = (threads.getThreadAllocatedBytes(thread) - before) / FRAMES;
+
+            assertTrue(perFrame <= BUDGET_BYTES_PER_FRAME,
+                perFrame + " B/frame allocated while painting, budget is " + BUDGET_BYTES_PER_FRAME + " B");
+        } finally {
+            graphics.dispose();
+        }
+    }
+}
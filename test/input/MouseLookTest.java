@@ -0,0 +1,79 @@
+package input;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.event.MouseEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MouseLookTest {
+    private final Component component = new Canvas();
+    private MouseLook look;
+
+    @BeforeEach
+    void setUp() {
+        look = new MouseLook(component, null, new InputHandler());
+        move(100, 100, 1000); // first event only sets the position
+        look.takeDelta();
+    }
+
+    @Test
+    void measuresMovesFromThePreviousEvent() {
+        move(103, 98, 1001);
+        move(110, 95, 1002);
+        assertDelta(10, -5);
+    }
+
+    @Test
+    void warpEventAddsNothing() {
+        look.noteWarp(100, 100, 50, 50, 1005);
+        move(50, 50, 1005);
+        assertDelta(0, 0);
+        move(53, 48, 1006);
+        assertDelta(3, -2);
+    }
+
+    @Test
+    void moveQueuedBeforeTheWarpIsMeasuredFromTheLastPosition() {
+        // The pointer reached (110, 100) before the warp, but the EDT handles that move after it
+        look.noteWarp(110, 100, 50, 50, 1005);
+        move(110, 100, 1004);
+        assertDelta(10, 0);
+        move(50, 50, 1005);
+        assertDelta(0, 0);
+        move(53, 48, 1006);
+        assertDelta(3, -2);
+    }
+
+    @Test
+    void warpMergedWithARealMoveKeepsOnlyTheMove() {
+        look.noteWarp(100, 100, 50, 50, 1005);
+        move(53, 48, 1006);
+        assertDelta(3, -2);
+    }
+
+    @Test
+    void enteringResetsAPendingWarp() {
+        look.noteWarp(100, 100, 50, 50, 1005);
+        look.mouseEntered(event(MouseEvent.MOUSE_ENTERED, 20, 20, 1006));
+        move(25, 20, 1007);
+        assertDelta(5, 0);
+    }
+
+    private void move(int x, int y, long when) {
+        look.mouseMoved(event(MouseEvent.MOUSE_MOVED, x, y, when));
+    }
+
+    private MouseEvent event(int id, int x, int y, long when) {
+        return new MouseEvent(component, id, when, 0, x, y, 0, false);
+    }
+
+    private void assertDelta(int dx, int dy) {
+        long delta = look.takeDelta();
+        assertEquals(dx, MouseLook.deltaX(delta), "dx");
+        assertEquals(dy, MouseLook.deltaY(delta), "dy");
+    }
+}